@@ -1,18 +1,26 @@
 package com.UPIQ.APIGateway.Config;
 
 import com.UPIQ.APIGateway.Filter.JwtAuthenticationFilter;
+import com.UPIQ.APIGateway.Filter.RateLimitFilter;
+import com.UPIQ.APIGateway.Filter.ResponseCacheFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 
 @Configuration
 public class GatewayConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
+        private final RateLimitFilter rateLimitFilter;
+        private final ResponseCacheFilter responseCacheFilter;
 
-        public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+        public GatewayConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                        ResponseCacheFilter responseCacheFilter) {
                 this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+                this.rateLimitFilter = rateLimitFilter;
+                this.responseCacheFilter = responseCacheFilter;
         }
 
         @Bean
@@ -27,7 +35,10 @@ public class GatewayConfig {
                                 .route("user-service", r -> r
                                                 .path("/api/v1/users/**")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(new JwtAuthenticationFilter.Config())))
+                                                                .apply(new JwtAuthenticationFilter.Config()), 0)
+                                                                // Runs after the JWT filter so it sees X-User-Id
+                                                                .filter(rateLimitFilter
+                                                                                .apply(new RateLimitFilter.Config("default")), 1))
                                                 .uri("lb://UPIQ-User-Authentication-Service"))
 
                                 // Health Check Routes (no JWT filter)
@@ -35,24 +46,51 @@ public class GatewayConfig {
                                                 .path("/health/**")
                                                 .uri("lb://UPIQ-User-Authentication-Service"))
 
+                                // Statement uploads, which occupy the parser; declared first so they win
+                                .route("pdf-parser-upload", r -> r
+                                                .path("/api/pdf/upload", "/api/pdf/jobs")
+                                                .and().method(HttpMethod.POST)
+                                                .filters(f -> f.filter(jwtAuthenticationFilter
+                                                                .apply(new JwtAuthenticationFilter.Config()), 0)
+                                                                // Runs after the JWT filter so it sees X-User-Id
+                                                                .filter(rateLimitFilter
+                                                                                .apply(new RateLimitFilter.Config("pdf")), 1))
+                                                .uri("lb://UPIQ-PDFParser-Service"))
+
+                                // Job polling, results and health are cheap reads
                                 .route("pdf-parser-service", r -> r
                                                 .path("/api/pdf/**")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(new JwtAuthenticationFilter.Config())))
+                                                                .apply(new JwtAuthenticationFilter.Config()), 0)
+                                                                // Runs after the JWT filter so it sees X-User-Id
+                                                                .filter(rateLimitFilter
+                                                                                .apply(new RateLimitFilter.Config("default")), 1))
                                                 .uri("lb://UPIQ-PDFParser-Service"))
 
                                 // Transaction Service Routes (with JWT filter)
                                 .route("transaction-service", r -> r
                                                 .path("/api/transactions/**")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(new JwtAuthenticationFilter.Config())))
+                                                                .apply(new JwtAuthenticationFilter.Config()), 0)
+                                                                // Runs after the JWT filter so it sees X-User-Id
+                                                                .filter(rateLimitFilter
+                                                                                .apply(new RateLimitFilter.Config("default")), 1)
+                                                                // Per-user GET cache, dropped on the user's writes
+                                                                .filter(responseCacheFilter
+                                                                                .apply(new ResponseCacheFilter.Config()), 2))
                                                 .uri("lb://UPIQ-Transaction-Service"))
 
                                 // Category Service Routes (with JWT filter)
                                 .route("category-service", r -> r
                                                 .path("/api/categories/**")
                                                 .filters(f -> f.filter(jwtAuthenticationFilter
-                                                                .apply(new JwtAuthenticationFilter.Config())))
+                                                                .apply(new JwtAuthenticationFilter.Config()), 0)
+                                                                // Runs after the JWT filter so it sees X-User-Id
+                                                                .filter(rateLimitFilter
+                                                                                .apply(new RateLimitFilter.Config("default")), 1)
+                                                                // Per-user GET cache, dropped on the user's writes
+                                                                .filter(responseCacheFilter
+                                                                                .apply(new ResponseCacheFilter.Config()), 2))
                                                 .uri("lb://UPIQ-Category-Service"))
 
                                 .build();
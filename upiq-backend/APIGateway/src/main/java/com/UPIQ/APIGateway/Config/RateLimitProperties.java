@@ -0,0 +1,37 @@
+package com.UPIQ.APIGateway.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Budgets for {@code RateLimitFilter}, under {@code app.rate-limit}. Each route
+ * names the budget it draws from; every user gets their own bucket per route.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets kept per budget; idle ones are dropped once they would be full anyway
+    private long maxKeys = 100_000;
+
+    private Map<String, Budget> budgets = new HashMap<>();
+
+    @Data
+    public static class Budget {
+        // Requests a user can make in a burst
+        private int capacity = 60;
+
+        // Sustained requests per second once the burst is spent
+        private double refillPerSecond = 20;
+
+        // Requests in flight on the route across all users, 0 for no limit
+        private int maxConcurrent = 0;
+    }
+}
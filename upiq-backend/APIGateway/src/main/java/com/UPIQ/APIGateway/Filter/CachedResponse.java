@@ -0,0 +1,10 @@
+package com.UPIQ.APIGateway.Filter;
+
+import org.springframework.http.MediaType;
+
+/**
+ * A backend's 200 response body as cached by {@link ResponseCacheFilter}, with
+ * the strong ETag computed from its bytes.
+ */
+record CachedResponse(byte[] body, MediaType contentType, String etag) {
+}
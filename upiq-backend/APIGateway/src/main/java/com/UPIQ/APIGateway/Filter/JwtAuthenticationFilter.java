@@ -1,14 +1,10 @@
 package com.UPIQ.APIGateway.Filter;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.UPIQ.APIGateway.Security.JwtVerifier;
+import com.UPIQ.APIGateway.Security.UserIdResolver;
+import com.UPIQ.APIGateway.Security.VerifiedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.JwtParser;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
@@ -17,30 +13,26 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${USER_AUTH_SERVICE_URL}") // ✅ Use environment variable from Docker Compose
-    private String userAuthServiceUrl;
-
-    private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final JwtVerifier jwtVerifier;
+    private final UserIdResolver userIdResolver;
 
-    public JwtAuthenticationFilter(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+    public JwtAuthenticationFilter(ObjectMapper objectMapper, JwtVerifier jwtVerifier,
+            UserIdResolver userIdResolver) {
         super(Config.class);
-        this.webClient = webClientBuilder.build();
         this.objectMapper = objectMapper;
+        this.jwtVerifier = jwtVerifier;
+        this.userIdResolver = userIdResolver;
     }
 
     @Override
@@ -62,70 +54,66 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             String token = authHeader.substring(7);
 
-            try {
-                SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-                JwtParser parser = Jwts.parser()
-                        .verifyWith(key)
-                        .build();
-
-                Jws<Claims> jws = parser.parseSignedClaims(token);
-                Claims claims = jws.getPayload();
-
-                String email = claims.getSubject();
-                String userIdFromToken = claims.get("userId", String.class);
-
-                if (userIdFromToken != null && !userIdFromToken.isEmpty()) {
-                    return processWithUserId(exchange, email, userIdFromToken, chain);
-                }
-
-                // Fetch userId dynamically from User Auth Service
-                return fetchUserIdByEmail(email, token)
-                        .flatMap(userId -> processWithUserId(exchange, email, userId, chain))
-                        .onErrorResume(e -> {
-                            log.warn("Error fetching userId for {}: {}", email, e.getMessage());
-                            return processWithUserId(exchange, email, null, chain);
-                        });
-
-            } catch (Exception e) {
-                log.error("JWT validation failed", e);
-                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-            }
+            return jwtVerifier.verify(token)
+                    .map(Optional::of)
+                    .onErrorResume(e -> {
+                        log.error("JWT validation failed", e);
+                        return Mono.just(Optional.empty());
+                    })
+                    .flatMap(verified -> verified
+                            .map(claims -> authenticated(exchange, chain, token, claims))
+                            .orElseGet(() -> onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED)));
         };
     }
 
-    private Mono<String> fetchUserIdByEmail(String email, String token) {
-        return webClient.get()
-                .uri(userAuthServiceUrl + "/api/v1/users/email/" + email) // ✅ Ensure v1
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(json -> {
-                    if (json.has("data") && json.get("data").has("id")) {
-                        return json.get("data").get("id").asText();
-                    }
-                    return null;
-                });
+    private Mono<Void> authenticated(ServerWebExchange exchange, GatewayFilterChain chain, String token,
+            VerifiedToken verified) {
+        if (!verified.active()) {
+            return onError(exchange, "Account is disabled", HttpStatus.FORBIDDEN);
+        }
+
+        String email = verified.email();
+        String userIdFromToken = verified.userId();
+
+        if (userIdFromToken != null && !userIdFromToken.isEmpty()) {
+            return processWithUserId(exchange, verified, userIdFromToken, chain);
+        }
+
+        // Fetch userId dynamically from User Auth Service
+        return userIdResolver.resolve(email, token)
+                .onErrorResume(e -> {
+                    log.warn("Error fetching userId for {}: {}", email, e.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(userId -> processWithUserId(exchange, verified, userId.orElse(null), chain));
     }
 
     private boolean isPublicEndpoint(String path) {
         return path.startsWith("/api/auth/login")
                 || path.startsWith("/api/auth/register")
-                || path.startsWith("/actuator")
                 || path.startsWith("/api/public");
     }
 
-    private Mono<Void> processWithUserId(ServerWebExchange exchange, String email,
+    private Mono<Void> processWithUserId(ServerWebExchange exchange, VerifiedToken verified,
             String userId, GatewayFilterChain chain) {
 
-        ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate();
+        // Identity headers come only from the token, never from the client
+        ServerHttpRequest.Builder requestBuilder = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove("X-User-Email");
+                    headers.remove("X-User-Id");
+                    headers.remove("X-User-Role");
+                });
 
-        if (email != null)
-            requestBuilder.header("X-User-Email", email);
+        if (verified.email() != null)
+            requestBuilder.header("X-User-Email", verified.email());
 
         if (userId != null)
             requestBuilder.header("X-User-Id", userId); // ✅ Required for TransactionController
 
+        if (verified.role() != null)
+            requestBuilder.header("X-User-Role", verified.role()); // Lets services authorize without a user lookup
+
         return chain.filter(exchange.mutate().request(requestBuilder.build()).build());
     }
 
@@ -0,0 +1,196 @@
+package com.UPIQ.APIGateway.Filter;
+
+import com.UPIQ.APIGateway.Config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user, per-route rate limiting with an optional cap on requests in flight.
+ * <p>
+ * Runs after {@link JwtAuthenticationFilter}, so users are told apart by the
+ * {@code X-User-Id} it sets (falling back to email, then client address). Each
+ * user gets a {@link TokenBucket} per route, sized by the route's budget in
+ * {@link RateLimitProperties}; an empty bucket answers 429 with
+ * {@code Retry-After}. A budget with {@code max-concurrent} also turns requests
+ * away with 503 while that many are already in flight on the route, which
+ * protects slow backends such as the PDF parser from being saturated.
+ * Everything is in memory, per gateway instance.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (!properties.isEnabled()) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        Limiter limiter = limiters.computeIfAbsent(config.getBudget(), this::newLimiter);
+
+        return (exchange, chain) -> {
+            String key = routeId(exchange) + "|" + clientKey(exchange.getRequest());
+            long now = System.nanoTime();
+            long waitNanos = limiter.buckets.get(key, k -> limiter.newBucket(now)).tryTake(now);
+            if (waitNanos > 0) {
+                limiter.limited.increment();
+                return reject(exchange, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                        "Too many requests, please retry later");
+            }
+
+            if (!limiter.admit()) {
+                limiter.busy.increment();
+                return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                        "Service is busy, please retry shortly");
+            }
+            limiter.allowed.increment();
+            return chain.filter(exchange).doFinally(signal -> limiter.release());
+        };
+    }
+
+    private Limiter newLimiter(String name) {
+        RateLimitProperties.Budget budget = properties.getBudgets().get(name);
+        if (budget == null) {
+            throw new IllegalStateException("No app.rate-limit.budgets." + name + " configured");
+        }
+        if (budget.getCapacity() < 1 || budget.getRefillPerSecond() <= 0) {
+            throw new IllegalStateException("app.rate-limit.budgets." + name
+                    + " needs capacity >= 1 and refill-per-second > 0");
+        }
+        Limiter limiter = new Limiter(name, budget, properties.getMaxKeys(), meterRegistry);
+        log.info("Rate limit budget '{}': burst {}, {}/s, max in flight {}", name, budget.getCapacity(),
+                budget.getRefillPerSecond(), budget.getMaxConcurrent() > 0 ? budget.getMaxConcurrent() : "unlimited");
+        return limiter;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unrouted";
+    }
+
+    private static String clientKey(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        String email = request.getHeaders().getFirst("X-User-Email");
+        if (email != null) {
+            return "email:" + email;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        return "ip:" + (remote != null ? remote.getAddress().getHostAddress() : "unknown");
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, long waitNanos, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        byte[] bytes = ("{\"success\":false,\"message\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    private static final class Limiter {
+        private final RateLimitProperties.Budget budget;
+        private final Cache<String, TokenBucket> buckets;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter allowed;
+        private final Counter limited;
+        private final Counter busy;
+
+        private Limiter(String name, RateLimitProperties.Budget budget, long maxKeys, MeterRegistry registry) {
+            this.budget = budget;
+            long refillNanos = new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), 0).refillNanos();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    // An idle bucket is full again after this long, so forgetting it changes nothing
+                    .expireAfterAccess(Duration.ofNanos(refillNanos))
+                    .build();
+
+            this.allowed = counter(registry, name, "allowed");
+            this.limited = counter(registry, name, "limited");
+            this.busy = counter(registry, name, "busy");
+            Gauge.builder("gateway.ratelimit.buckets", buckets, Cache::estimatedSize)
+                    .tag("budget", name).description("Users with a rate limit bucket").register(registry);
+            Gauge.builder("gateway.ratelimit.in.flight", inFlight, AtomicInteger::get)
+                    .tag("budget", name).description("Requests in flight on routes with this budget").register(registry);
+        }
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now);
+        }
+
+        private boolean admit() {
+            int max = budget.getMaxConcurrent();
+            if (max <= 0) {
+                return true;
+            }
+            if (inFlight.incrementAndGet() > max) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void release() {
+            if (budget.getMaxConcurrent() > 0) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private static Counter counter(MeterRegistry registry, String budget, String outcome) {
+            return Counter.builder("gateway.ratelimit.requests")
+                    .tag("budget", budget)
+                    .tag("outcome", outcome)
+                    .description("Requests checked against a rate limit budget")
+                    .register(registry);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Config {
+        private String budget = "default";
+    }
+}
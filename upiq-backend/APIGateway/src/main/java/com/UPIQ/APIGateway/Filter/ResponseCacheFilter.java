@@ -0,0 +1,283 @@
+package com.UPIQ.APIGateway.Filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches each user's JSON GET responses at the gateway and answers
+ * {@code If-None-Match} with 304.
+ * <p>
+ * Entries are keyed by route, {@code X-User-Id} and path with query, so it must
+ * run after {@link JwtAuthenticationFilter}. Every cacheable response gets a
+ * strong ETag (a hash of its bytes) and {@code Cache-Control: private, no-cache},
+ * so browsers keep the body and revalidate; a matching ETag costs a 304 with no
+ * body, and a cache hit costs no backend call at all.
+ * <p>
+ * A POST, PUT, PATCH or DELETE by a user on a route moves that user's route to
+ * a new generation, before the write is forwarded and again once it completes,
+ * so nothing read before the write finished is served afterwards. Invalidation
+ * is per gateway instance; {@code app.response-cache.ttl} bounds how long
+ * another instance can serve a response from before a write it did not see.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final boolean enabled;
+    private final int maxBodyBytes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> requestCounters = new ConcurrentHashMap<>();
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private final Cache<String, Long> generations;
+    private final Cache<String, CachedResponse> responses;
+
+    @Autowired
+    public ResponseCacheFilter(MeterRegistry meterRegistry,
+            @Value("${app.response-cache.enabled:true}") boolean enabled,
+            @Value("${app.response-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${app.response-cache.max-body-size:1MB}") DataSize maxBodySize,
+            @Value("${app.response-cache.max-users:10000}") long maxUsers,
+            @Value("${app.response-cache.ttl:5m}") Duration ttl) {
+        this(meterRegistry, enabled, maxSize, maxBodySize, maxUsers, ttl, Ticker.systemTicker());
+    }
+
+    ResponseCacheFilter(MeterRegistry meterRegistry, boolean enabled, DataSize maxSize, DataSize maxBodySize,
+            long maxUsers, Duration ttl, Ticker ticker) {
+        super(Config.class);
+        this.enabled = enabled;
+        this.maxBodyBytes = (int) Math.min(Integer.MAX_VALUE, maxBodySize.toBytes());
+        this.meterRegistry = meterRegistry;
+        // A forgotten generation is replaced by a fresh one, so dropping it only costs misses
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(ttl)
+                .ticker(ticker)
+                .build();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .build();
+        Gauge.builder("gateway.responsecache.entries", responses, Cache::estimatedSize)
+                .description("Responses held by the gateway response cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String userId = request.getHeaders().getFirst("X-User-Id");
+            if (!enabled || userId == null) {
+                return chain.filter(exchange);
+            }
+
+            String route = routeId(exchange);
+            String scope = route + "|" + userId;
+            HttpMethod method = request.getMethod();
+            if (HttpMethod.GET.equals(method)) {
+                return read(exchange, chain, route, scope);
+            }
+            if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                return chain.filter(exchange);
+            }
+
+            // Before, so the write is never answered around; after, so reads that raced it are dropped
+            invalidate(scope);
+            return chain.filter(exchange).doFinally(signal -> invalidate(scope));
+        };
+    }
+
+    private Mono<Void> read(ServerWebExchange exchange, GatewayFilterChain chain, String route, String scope) {
+        ServerHttpRequest request = exchange.getRequest();
+        String query = request.getURI().getRawQuery();
+        String key = scope + "|" + generation(scope) + "|" + request.getURI().getRawPath()
+                + (query != null ? "?" + query : "");
+
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            boolean notModified = matches(request, cached.etag());
+            count(route, notModified ? "not_modified" : "hit");
+            return replay(exchange.getResponse(), cached, notModified);
+        }
+        count(route, "miss");
+        return chain.filter(exchange.mutate()
+                .response(new CachingResponse(exchange, key))
+                .build());
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, CachedResponse cached, boolean notModified) {
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CACHE_CONTROL);
+        if (notModified) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentType(cached.contentType());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private long generation(String scope) {
+        return generations.get(scope, s -> lastGeneration.incrementAndGet());
+    }
+
+    private void invalidate(String scope) {
+        generations.put(scope, lastGeneration.incrementAndGet());
+    }
+
+    private void count(String route, String outcome) {
+        requestCounters.computeIfAbsent(route + "|" + outcome, k -> Counter.builder("gateway.responsecache.requests")
+                        .tag("route", route)
+                        .tag("outcome", outcome)
+                        .description("GET requests seen by the gateway response cache")
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unrouted";
+    }
+
+    private static boolean matches(ServerHttpRequest request, String etag) {
+        List<String> candidates;
+        try {
+            candidates = request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        for (String candidate : candidates) {
+            // If-None-Match compares weakly, so W/"x" matches "x"
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Buffers a cacheable backend response so its ETag can be sent ahead of the
+     * body, stores it, and answers 304 if the client already holds it. A body
+     * that turns out larger than {@code max-body-size} is streamed on from the
+     * point it crosses the limit and is not cached.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+
+        private CachingResponse(ServerWebExchange exchange, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!cacheable()) {
+                return super.writeWith(body);
+            }
+            // The first chunk is the whole body, unless the limit was crossed first; every
+            // buffer after the crossing is a chunk of its own, so the rest streams through
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBodyBytes)
+                    .switchOnFirst((first, chunks) -> first.hasValue() && size.get() <= maxBodyBytes
+                            ? chunks.next().flatMap(this::store)
+                            : super.writeWith(chunks.concatMapIterable(buffers -> buffers)))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> store(List<DataBuffer> buffers) {
+            int size = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+            byte[] bytes = new byte[size];
+            int offset = 0;
+            for (DataBuffer buffer : buffers) {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+                DataBufferUtils.release(buffer);
+            }
+            CachedResponse cached = new CachedResponse(bytes, getHeaders().getContentType(), etag(bytes));
+            responses.put(key, cached);
+
+            HttpHeaders headers = getHeaders();
+            headers.setETag(cached.etag());
+            headers.setCacheControl(CACHE_CONTROL);
+            if (matches(exchange.getRequest(), cached.etag())) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                return getDelegate().setComplete();
+            }
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        private boolean cacheable() {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            String cacheControl = headers.getCacheControl();
+            // A declared length over the limit is known up front, so such a body is never buffered
+            return HttpStatus.OK.equals(getStatusCode())
+                    && headers.getContentLength() <= maxBodyBytes
+                    && contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && (cacheControl == null || !cacheControl.contains("no-store"));
+        }
+    }
+
+    public static class Config {
+    }
+}
@@ -0,0 +1,50 @@
+package com.UPIQ.APIGateway.Filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding {@code capacity} tokens and refilling at a
+ * fixed rate.
+ * <p>
+ * The state is a single timestamp, the time at which the bucket would be full
+ * again (the GCRA formulation), so taking a token is one compare-and-set and
+ * buckets need no refill timer.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.nanosPerToken = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * Math.max(1, capacity);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is
+     *         available
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerToken;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Time for an empty bucket to fill; an idle bucket older than this is full
+     * and can be forgotten
+     */
+    long refillNanos() {
+        return burstNanos;
+    }
+}
@@ -0,0 +1,129 @@
+package com.UPIQ.APIGateway.Security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The auth service's token signing keys, fetched from its JWKS endpoint.
+ * <p>
+ * The key set is re-read every {@code jwt.jwks.refresh-interval}. A token
+ * signed with a key that is not in the set triggers an early re-read, at most
+ * once per {@code jwt.jwks.min-refresh-gap}, so a rotation is picked up without
+ * letting unknown {@code kid}s hammer the auth service. Concurrent reads share
+ * one fetch.
+ */
+@Slf4j
+@Component
+public class JwksKeyCache {
+
+    private record KeySet(Map<String, PublicKey> keys, long fetchedAtNanos) {
+    }
+
+    private static final String JWKS = "jwks";
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration timeout;
+    private final Duration minRefreshGap;
+    private final Ticker ticker;
+    private final AsyncCache<String, KeySet> keySets;
+
+    // Last key set fetched, for the parser's synchronous key lookup
+    private volatile Map<String, PublicKey> current = Map.of();
+
+    @Autowired
+    public JwksKeyCache(WebClient.Builder webClientBuilder,
+            @Value("${jwt.jwks.uri}") String jwksUri,
+            @Value("${jwt.jwks.refresh-interval:1h}") Duration refreshInterval,
+            @Value("${jwt.jwks.min-refresh-gap:30s}") Duration minRefreshGap,
+            @Value("${jwt.jwks.timeout:2s}") Duration timeout) {
+        this(webClientBuilder, jwksUri, refreshInterval, minRefreshGap, timeout, Ticker.systemTicker());
+    }
+
+    JwksKeyCache(WebClient.Builder webClientBuilder, String jwksUri, Duration refreshInterval,
+            Duration minRefreshGap, Duration timeout, Ticker ticker) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.timeout = timeout;
+        this.minRefreshGap = minRefreshGap;
+        this.ticker = ticker;
+        this.keySets = Caffeine.newBuilder()
+                .ticker(ticker)
+                .expireAfterWrite(refreshInterval)
+                .buildAsync();
+    }
+
+    /**
+     * @return the public key for {@code kid}, re-reading the key set once if it
+     *         is not known yet; empty if the auth service does not publish it
+     */
+    public Mono<PublicKey> key(String kid) {
+        return keySet().flatMap(set -> {
+            PublicKey key = set.keys().get(kid);
+            if (key != null || ticker.read() - set.fetchedAtNanos() < minRefreshGap.toNanos()) {
+                return Mono.justOrEmpty(key);
+            }
+            // Possibly rotated since the last read; only the first caller drops the stale set
+            CompletableFuture<KeySet> stale = keySets.getIfPresent(JWKS);
+            if (stale != null && stale.getNow(null) == set) {
+                keySets.asMap().remove(JWKS, stale);
+            }
+            return keySet().mapNotNull(fresh -> fresh.keys().get(kid));
+        });
+    }
+
+    /**
+     * The key for {@code kid} from the last fetched set, without fetching.
+     * Callers make sure it is loaded with {@link #key(String)} first.
+     */
+    Key loadedKey(String kid) {
+        return current.get(kid);
+    }
+
+    private Mono<KeySet> keySet() {
+        CompletableFuture<KeySet> previous = keySets.getIfPresent(JWKS);
+        if (previous != null && previous.isCompletedExceptionally()) {
+            // The cache drops failed fetches asynchronously, so one may still be visible here
+            keySets.asMap().remove(JWKS, previous);
+        }
+        return Mono.fromFuture(keySets.get(JWKS, (key, executor) -> fetch().toFuture()), true);
+    }
+
+    private Mono<KeySet> fetch() {
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(timeout)
+                .map(json -> {
+                    JwkSet set = Jwks.setParser().build().parse(json);
+                    Map<String, PublicKey> keys = new HashMap<>();
+                    for (Jwk<?> jwk : set) {
+                        if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey
+                                && (jwk.get("use") == null || "sig".equals(jwk.get("use")))) {
+                            keys.put(jwk.getId(), publicKey);
+                        }
+                    }
+                    log.info("Loaded {} token signing key(s) from {}", keys.size(), jwksUri);
+                    current = Map.copyOf(keys);
+                    return new KeySet(current, ticker.read());
+                });
+    }
+}
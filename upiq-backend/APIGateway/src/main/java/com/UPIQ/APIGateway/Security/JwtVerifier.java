@@ -0,0 +1,164 @@
+package com.UPIQ.APIGateway.Security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Verifies bearer tokens for the gateway.
+ * <p>
+ * Tokens are RS256-signed by the auth service; the public key is picked by the
+ * token's {@code kid} from {@link JwksKeyCache}. The parser is built once.
+ * Verified tokens are remembered until the earlier of their {@code exp} and
+ * {@code jwt.cache.max-ttl}, so a client sending the same token on every call
+ * pays for the signature check and claims parsing once. Lookups re-check
+ * {@code exp} against the clock, so an expired token is never served from the
+ * cache; tokens without {@code exp} are not cached at all.
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwksKeyCache jwks;
+    private final ObjectMapper objectMapper;
+    private final JwtParser parser;
+    private final Clock clock;
+    private final Duration maxTtl;
+    private final Cache<String, VerifiedToken> verified;
+
+    @Autowired
+    public JwtVerifier(JwksKeyCache jwks, ObjectMapper objectMapper,
+            @Value("${jwt.cache.max-entries:10000}") long maxEntries,
+            @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl) {
+        this(jwks, objectMapper, maxEntries, maxTtl, Clock.systemUTC());
+    }
+
+    JwtVerifier(JwksKeyCache jwks, ObjectMapper objectMapper, long maxEntries, Duration maxTtl, Clock clock) {
+        this.jwks = jwks;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxTtl = maxTtl;
+        // Only public keys are ever located, so HMAC-signed tokens cannot verify
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return jwks.loadedKey(header.getKeyId());
+                    }
+                })
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+                        return ttl(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return ttl(value).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return the token's claims; fails with {@link io.jsonwebtoken.JwtException}
+     *         if the token is malformed, badly signed, signed by an unknown key
+     *         or expired
+     */
+    public Mono<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.expiresAt())) {
+                return Mono.just(cached);
+            }
+            verified.invalidate(token);
+        }
+
+        String kid;
+        try {
+            kid = keyId(token);
+        } catch (MalformedJwtException e) {
+            return Mono.error(e);
+        }
+        return jwks.key(kid)
+                .switchIfEmpty(Mono.error(() -> new SignatureException("Token signed with unknown key " + kid)))
+                .map(key -> parse(token));
+    }
+
+    long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private VerifiedToken parse(String token) {
+        // Throws ExpiredJwtException for a lapsed token, like any other failure
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        VerifiedToken result = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("role", String.class),
+                Boolean.TRUE.equals(claims.get("active", Boolean.class)),
+                expiration != null ? expiration.toInstant() : null);
+        if (result.expiresAt() != null) {
+            verified.put(token, result);
+        }
+        return result;
+    }
+
+    private String keyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            throw new MalformedJwtException("Token is not a signed JWT");
+        }
+        try {
+            JsonNode header = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+            JsonNode kid = header.get("kid");
+            if (kid == null || !kid.isTextual()) {
+                throw new MalformedJwtException("Token header has no kid");
+            }
+            return kid.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MalformedJwtException("Token header is not valid JSON", e);
+        }
+    }
+
+    private Duration ttl(VerifiedToken token) {
+        Duration untilExpiry = Duration.between(clock.instant(), token.expiresAt());
+        if (untilExpiry.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry : maxTtl;
+    }
+}
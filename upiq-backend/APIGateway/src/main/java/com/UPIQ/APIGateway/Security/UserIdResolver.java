@@ -0,0 +1,109 @@
+package com.UPIQ.APIGateway.Security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Looks up the user id for an email with the auth service, for tokens that
+ * carry no {@code userId} claim.
+ * <p>
+ * Concurrent requests for the same email share one in-flight call. Results are
+ * kept for {@code app.user-lookup.ttl}; an email the auth service does not know
+ * (400 or 404) is remembered as empty for the shorter {@code app.user-lookup.negative-ttl}.
+ * Failed calls are not cached, so the next request tries again.
+ */
+@Component
+public class UserIdResolver {
+
+    private final WebClient webClient;
+    private final String userAuthServiceUrl;
+    private final Duration timeout;
+    private final AsyncCache<String, Optional<String>> userIds;
+
+    @Autowired
+    public UserIdResolver(WebClient.Builder webClientBuilder,
+            @Value("${USER_AUTH_SERVICE_URL}") String userAuthServiceUrl,
+            @Value("${app.user-lookup.max-entries:10000}") long maxEntries,
+            @Value("${app.user-lookup.ttl:10m}") Duration ttl,
+            @Value("${app.user-lookup.negative-ttl:30s}") Duration negativeTtl,
+            @Value("${app.user-lookup.timeout:2s}") Duration timeout) {
+        this(webClientBuilder, userAuthServiceUrl, maxEntries, ttl, negativeTtl, timeout, Ticker.systemTicker());
+    }
+
+    UserIdResolver(WebClient.Builder webClientBuilder, String userAuthServiceUrl, long maxEntries,
+            Duration ttl, Duration negativeTtl, Duration timeout, Ticker ticker) {
+        this.webClient = webClientBuilder.build();
+        this.userAuthServiceUrl = userAuthServiceUrl;
+        this.timeout = timeout;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Optional<String>>() {
+                    @Override
+                    public long expireAfterCreate(String email, Optional<String> userId, long currentTime) {
+                        return (userId.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Optional<String> userId, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(email, userId, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Optional<String> userId, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+    }
+
+    /**
+     * @param token the caller's bearer token, forwarded to the auth service
+     * @return the user id, or empty if the auth service has no such user
+     */
+    public Mono<Optional<String>> resolve(String email, String token) {
+        CompletableFuture<Optional<String>> previous = userIds.getIfPresent(email);
+        if (previous != null && previous.isCompletedExceptionally()) {
+            // The cache drops failed lookups asynchronously, so one may still be visible here
+            userIds.asMap().remove(email, previous);
+        }
+        CompletableFuture<Optional<String>> lookup = userIds.get(email, (key, executor) -> fetch(key, token).toFuture());
+        // One subscriber cancelling must not cancel the lookup others are waiting on
+        return Mono.fromFuture(lookup, true)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Optional<String>> fetch(String email, String token) {
+        return webClient.get()
+                .uri(userAuthServiceUrl + "/api/v1/users/email/" + email) // ✅ Ensure v1
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(json -> {
+                    if (json.has("data") && json.get("data").has("id")) {
+                        return Optional.of(json.get("data").get("id").asText());
+                    }
+                    return Optional.<String>empty();
+                })
+                // The auth service answers an unknown email with 400
+                .onErrorResume(e -> e instanceof WebClientResponseException.BadRequest
+                        || e instanceof WebClientResponseException.NotFound, e -> Mono.just(Optional.empty()))
+                .timeout(timeout);
+    }
+}
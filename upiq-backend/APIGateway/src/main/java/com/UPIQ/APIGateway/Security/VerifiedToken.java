@@ -0,0 +1,11 @@
+package com.UPIQ.APIGateway.Security;
+
+import java.time.Instant;
+
+/**
+ * The claims the gateway needs from a token whose signature has been checked.
+ * {@code userId} is null for tokens issued before the claim was added;
+ * {@code active} is false for disabled accounts.
+ */
+public record VerifiedToken(String email, String userId, String role, boolean active, Instant expiresAt) {
+}
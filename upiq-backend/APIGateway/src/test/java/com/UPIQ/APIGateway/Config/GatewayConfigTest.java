@@ -0,0 +1,44 @@
+package com.UPIQ.APIGateway.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "USER_AUTH_SERVICE_URL=http://localhost:1",
+        "eureka.client.enabled=false"
+})
+class GatewayConfigTest {
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @Test
+    void testOnlyStatementUploadsUseThePdfRoute() {
+        assertEquals("pdf-parser-upload", routeFor(HttpMethod.POST, "/api/pdf/upload"));
+        assertEquals("pdf-parser-upload", routeFor(HttpMethod.POST, "/api/pdf/jobs"));
+        assertEquals("pdf-parser-service", routeFor(HttpMethod.GET, "/api/pdf/jobs/42"));
+        assertEquals("pdf-parser-service", routeFor(HttpMethod.GET, "/api/pdf/jobs/42/transactions"));
+        assertEquals("pdf-parser-service", routeFor(HttpMethod.GET, "/api/pdf/health"));
+    }
+
+    // First route whose predicate matches, as the gateway's handler mapping picks it
+    private String routeFor(HttpMethod method, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.method(method, path));
+        return routeLocator.getRoutes()
+                .concatMap(route -> Mono.from(route.getPredicate().apply(exchange))
+                        .filter(Boolean::booleanValue)
+                        .map(matched -> route))
+                .next()
+                .map(Route::getId)
+                .block();
+    }
+}
@@ -0,0 +1,35 @@
+package com.UPIQ.APIGateway.Config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "USER_AUTH_SERVICE_URL=http://localhost:1",
+        "eureka.client.enabled=false"
+})
+class ManagementPortTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void testMetricsAreOnlyServedOnTheManagementPort() {
+        assertNotEquals(serverPort, managementPort);
+        client(serverPort).get().uri("/actuator/metrics").exchange()
+                .expectStatus().isNotFound();
+        client(managementPort).get().uri("/actuator/metrics").exchange()
+                .expectStatus().isOk();
+    }
+
+    private static WebTestClient client(int port) {
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+}
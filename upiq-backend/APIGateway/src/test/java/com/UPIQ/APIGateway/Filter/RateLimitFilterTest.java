@@ -0,0 +1,89 @@
+package com.UPIQ.APIGateway.Filter;
+
+import com.UPIQ.APIGateway.Config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    @Test
+    void testRejectsWithRetryAfterOnceBurstIsSpent() {
+        GatewayFilter filter = filter("tight", 2, 0.5, 0);
+
+        assertNull(call(filter, "42").getResponse().getStatusCode());
+        assertNull(call(filter, "42").getResponse().getStatusCode());
+        MockServerWebExchange limited = call(filter, "42");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getResponse().getStatusCode());
+        assertEquals("2", limited.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(limited.getResponse().getBodyAsString().block().contains("\"success\":false"));
+        assertEquals(2, forwarded.get());
+        assertEquals(1, registry.counter("gateway.ratelimit.requests", "budget", "tight", "outcome", "limited").count());
+    }
+
+    @Test
+    void testUsersHaveSeparateBuckets() {
+        GatewayFilter filter = filter("tight", 1, 0.5, 0);
+
+        call(filter, "42");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, call(filter, "42").getResponse().getStatusCode());
+        assertNull(call(filter, "43").getResponse().getStatusCode());
+        assertEquals(2, forwarded.get());
+    }
+
+    @Test
+    void testShedsRequestsOverConcurrencyCap() {
+        GatewayFilter filter = filter("pdf", 10, 1, 1);
+        Sinks.Empty<Void> upstream = Sinks.empty();
+
+        MockServerWebExchange first = exchange("42");
+        filter.filter(first, e -> upstream.asMono()).subscribe();
+        MockServerWebExchange second = call(filter, "43");
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getResponse().getStatusCode());
+        assertEquals("1", second.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        upstream.tryEmitEmpty();
+        assertNull(call(filter, "43").getResponse().getStatusCode());
+    }
+
+    private GatewayFilter filter(String name, int capacity, double refillPerSecond, int maxConcurrent) {
+        RateLimitProperties.Budget budget = new RateLimitProperties.Budget();
+        budget.setCapacity(capacity);
+        budget.setRefillPerSecond(refillPerSecond);
+        budget.setMaxConcurrent(maxConcurrent);
+        properties.getBudgets().put(name, budget);
+        return new RateLimitFilter(properties, registry).apply(new RateLimitFilter.Config(name));
+    }
+
+    private MockServerWebExchange call(GatewayFilter filter, String userId) {
+        MockServerWebExchange exchange = exchange(userId);
+        GatewayFilterChain chain = e -> {
+            forwarded.incrementAndGet();
+            return Mono.empty();
+        };
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange exchange(String userId) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/pdf/upload")
+                .header("X-User-Id", userId));
+    }
+}
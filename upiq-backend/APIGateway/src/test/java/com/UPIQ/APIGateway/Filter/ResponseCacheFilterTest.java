@@ -0,0 +1,196 @@
+package com.UPIQ.APIGateway.Filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicLong streamed = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MediaType contentType = MediaType.APPLICATION_JSON;
+
+    private final GatewayFilter filter = new ResponseCacheFilter(meterRegistry, true,
+            DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), 100, Duration.ofMinutes(5), nanos::get)
+            .apply(new ResponseCacheFilter.Config());
+
+    @Test
+    void testServesRepeatReadsFromCacheWithTheSameEtag() {
+        MockServerWebExchange first = call(get("/api/categories", "42"));
+        MockServerWebExchange second = call(get("/api/categories", "42"));
+
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals(etag, second.getResponse().getHeaders().getETag());
+        assertEquals("private, no-cache", second.getResponse().getHeaders().getCacheControl());
+        assertEquals(body(first), body(second));
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    void testKeysOnQueryAndUser() {
+        call(get("/api/transactions/page?page=0", "42"));
+        call(get("/api/transactions/page?page=1", "42"));
+        call(get("/api/transactions/page?page=0", "43"));
+        call(get("/api/transactions/page?page=0", "42"));
+
+        assertEquals(3, backendCalls.get());
+    }
+
+    @Test
+    void testAnswersMatchingIfNoneMatchWithNotModified() {
+        String etag = call(get("/api/categories", "42")).getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidated = call(MockServerHttpRequest.get("/api/categories")
+                .header("X-User-Id", "42")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals(etag, revalidated.getResponse().getHeaders().getETag());
+        assertEquals("", body(revalidated));
+        assertEquals(1, backendCalls.get());
+    }
+
+    @Test
+    void testWriteByTheUserInvalidatesOnlyTheirEntries() {
+        String before = body(call(get("/api/transactions", "42")));
+        call(get("/api/transactions", "43"));
+
+        version.incrementAndGet();
+        call(MockServerHttpRequest.post("/api/transactions").header("X-User-Id", "42"));
+        String after = body(call(get("/api/transactions", "42")));
+        call(get("/api/transactions", "43"));
+
+        assertNotEquals(before, after);
+        // Two reads, the write, and the re-read by 42; 43 stays cached
+        assertEquals(4, backendCalls.get());
+    }
+
+    @Test
+    void testDoesNotCacheNonJsonOrExpiredResponses() {
+        contentType = MediaType.parseMediaType("text/csv");
+        call(get("/api/transactions/export", "42"));
+        MockServerWebExchange csv = call(get("/api/transactions/export", "42"));
+        assertNull(csv.getResponse().getHeaders().getETag());
+        assertEquals(2, backendCalls.get());
+
+        contentType = MediaType.APPLICATION_JSON;
+        call(get("/api/categories", "42"));
+        nanos.addAndGet(Duration.ofMinutes(5).plusSeconds(1).toNanos());
+        call(get("/api/categories", "42"));
+        assertEquals(4, backendCalls.get());
+    }
+
+    @Test
+    void testStreamsBodiesOnceTheyOutgrowTheLimit() {
+        // 40 KB chunks against a 64 KB limit: the second crosses it, the third must find both already sent
+        AtomicLong sentBeforeLastChunk = new AtomicLong();
+        MockServerWebExchange exchange = callLarge(-1, Flux.concat(chunk(), chunk(),
+                Mono.defer(() -> {
+                    sentBeforeLastChunk.set(streamed.get());
+                    return chunk();
+                })));
+
+        assertEquals(80 * 1024, sentBeforeLastChunk.get());
+        assertEquals(120 * 1024, streamed.get());
+        assertNull(exchange.getResponse().getHeaders().getETag());
+        callLarge(-1, Flux.concat(chunk(), chunk(), chunk()));
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void testPassesThroughBodiesDeclaredLargerThanTheLimit() {
+        AtomicLong sentBeforeSecondChunk = new AtomicLong();
+        MockServerWebExchange exchange = callLarge(80 * 1024, Flux.concat(chunk(),
+                Mono.defer(() -> {
+                    sentBeforeSecondChunk.set(streamed.get());
+                    return chunk();
+                })));
+
+        // Not held back even though the first chunk alone is under the limit
+        assertEquals(40 * 1024, sentBeforeSecondChunk.get());
+        assertNull(exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testCountsEachOutcomeOnOneCounter() {
+        call(get("/api/categories", "42"));
+        call(get("/api/categories", "42"));
+        call(get("/api/categories", "42"));
+
+        assertEquals(1, meterRegistry.get("gateway.responsecache.requests").tag("outcome", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("gateway.responsecache.requests").tag("outcome", "hit").counter().count());
+        assertEquals(2, meterRegistry.find("gateway.responsecache.requests").counters().size());
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> get(String uri, String userId) {
+        return MockServerHttpRequest.get(uri).header("X-User-Id", userId);
+    }
+
+    private MockServerWebExchange call(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        GatewayFilterChain backend = e -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = e.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(contentType);
+            byte[] bytes = ("{\"success\":true,\"data\":" + version.get() + "}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        };
+        filter.filter(exchange, backend).block();
+        return exchange;
+    }
+
+    // Records what reaches the client as it arrives, rather than once the body is complete
+    private MockServerWebExchange callLarge(long contentLength, Flux<DataBuffer> body) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(get("/api/transactions", "42"));
+        exchange.getResponse().setWriteHandler(written -> written
+                .doOnNext(buffer -> streamed.addAndGet(buffer.readableByteCount()))
+                .doOnNext(DataBufferUtils::release)
+                .then());
+        streamed.set(0);
+        GatewayFilterChain backend = e -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = e.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (contentLength >= 0) {
+                response.getHeaders().setContentLength(contentLength);
+            }
+            return response.writeWith(body);
+        };
+        filter.filter(exchange, backend).block();
+        return exchange;
+    }
+
+    private static Mono<DataBuffer> chunk() {
+        return Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(new byte[40 * 1024]));
+    }
+
+    private static String body(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block();
+    }
+}
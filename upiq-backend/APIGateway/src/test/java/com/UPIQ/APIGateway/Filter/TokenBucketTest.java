@@ -0,0 +1,44 @@
+package com.UPIQ.APIGateway.Filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testAllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(SECOND, bucket.tryTake(0));
+    }
+
+    @Test
+    void testRefillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+
+        assertEquals(SECOND / 4, bucket.tryTake(SECOND / 4));
+        assertEquals(0, bucket.tryTake(SECOND / 2));
+        assertTrue(bucket.tryTake(SECOND / 2) > 0);
+    }
+
+    @Test
+    void testIdleBucketDoesNotSaveMoreThanCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryTake(later));
+        assertEquals(0, bucket.tryTake(later));
+        assertTrue(bucket.tryTake(later) > 0);
+        assertEquals(2 * SECOND, bucket.refillNanos());
+    }
+}
@@ -0,0 +1,166 @@
+package com.UPIQ.APIGateway.Security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger jwksCalls = new AtomicInteger();
+    private final List<Map<String, ?>> published = new ArrayList<>();
+
+    private final KeyPair first = Jwts.SIG.RS256.keyPair().build();
+    private final KeyPair second = Jwts.SIG.RS256.keyPair().build();
+
+    private final JwtVerifier verifier = new JwtVerifier(jwks(), objectMapper, 100, Duration.ofMinutes(10), clock);
+
+    @Test
+    void testReusesVerifiedClaimsForTheSameToken() {
+        publish(first, "k1");
+        String token = token(first, "k1", Duration.ofHours(1));
+
+        VerifiedToken verified = verifier.verify(token).block();
+
+        assertEquals("a@upiq.in", verified.email());
+        assertEquals("42", verified.userId());
+        assertEquals("USER", verified.role());
+        assertTrue(verified.active());
+        assertSame(verified, verifier.verify(token).block());
+        assertEquals(1, verifier.cachedTokens());
+        assertEquals(1, jwksCalls.get());
+    }
+
+    @Test
+    void testNeverServesAnExpiredToken() {
+        publish(first, "k1");
+        String token = token(first, "k1", Duration.ofMinutes(2));
+        verifier.verify(token).block();
+
+        clock.advance(Duration.ofMinutes(2).plusSeconds(1));
+
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(token).block());
+    }
+
+    @Test
+    void testRejectsForgedAndHmacTokens() {
+        publish(first, "k1");
+        String forged = token(second, "k1", Duration.ofHours(1));
+        String hmac = Jwts.builder().header().keyId("k1").and()
+                .subject("a@upiq.in")
+                .expiration(Date.from(clock.instant().plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> verifier.verify(forged).block());
+        assertThrows(JwtException.class, () -> verifier.verify(hmac).block());
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    @Test
+    void testPicksUpRotatedKeyButThrottlesUnknownKids() {
+        publish(first, "k1");
+        verifier.verify(token(first, "k1", Duration.ofHours(1))).block();
+        publish(second, "k2");
+
+        // Too soon after the last read to fetch again
+        assertThrows(JwtException.class, () -> verifier.verify(token(second, "k2", Duration.ofHours(1))).block());
+        assertEquals(1, jwksCalls.get());
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertEquals("a@upiq.in", verifier.verify(token(second, "k2", Duration.ofHours(1))).block().email());
+        assertEquals(2, jwksCalls.get());
+    }
+
+    private JwksKeyCache jwks() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            jwksCalls.incrementAndGet();
+            String body;
+            try {
+                body = objectMapper.writeValueAsString(Map.of("keys", published));
+            } catch (Exception e) {
+                return Mono.error(e);
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        return new JwksKeyCache(builder, "http://auth/.well-known/jwks.json", Duration.ofHours(1),
+                Duration.ofSeconds(30), Duration.ofSeconds(2), nanos::get);
+    }
+
+    private void publish(KeyPair pair, String kid) {
+        published.add(Jwks.builder().key((RSAPublicKey) pair.getPublic()).id(kid).build());
+    }
+
+    private String token(KeyPair pair, String kid, Duration lifetime) {
+        Instant now = clock.instant();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("a@upiq.in")
+                .claim("userId", "42")
+                .claim("role", "USER")
+                .claim("active", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(lifetime)))
+                .signWith(pair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.UPIQ.APIGateway.Security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIdResolverTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    void testConcurrentLookupsShareOneCall() {
+        UserIdResolver resolver = resolver(HttpStatus.OK, "{\"success\":true,\"data\":{\"id\":42}}",
+                Duration.ofMillis(50));
+
+        List<Optional<String>> results = Flux.range(0, 6)
+                .flatMap(i -> resolver.resolve("a@upiq.in", "token"))
+                .collectList()
+                .block();
+
+        assertEquals(6, results.size());
+        assertTrue(results.stream().allMatch(Optional.of("42")::equals));
+        assertEquals(1, calls.get());
+
+        resolver.resolve("a@upiq.in", "token").block();
+        assertEquals(1, calls.get());
+    }
+
+    // The auth service answers an unknown email with 400; 404 is what it should send
+    @ParameterizedTest
+    @EnumSource(value = HttpStatus.class, names = { "NOT_FOUND", "BAD_REQUEST" })
+    void testUnknownEmailIsCachedBriefly(HttpStatus status) {
+        UserIdResolver resolver = resolver(status, "{\"success\":false}", Duration.ZERO);
+
+        assertEquals(Optional.empty(), resolver.resolve("ghost@upiq.in", "token").block());
+        assertEquals(Optional.empty(), resolver.resolve("ghost@upiq.in", "token").block());
+        assertEquals(1, calls.get());
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        resolver.resolve("ghost@upiq.in", "token").block();
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFailedLookupIsRetried() {
+        UserIdResolver resolver = resolver(HttpStatus.SERVICE_UNAVAILABLE, "", Duration.ZERO);
+
+        assertThrows(RuntimeException.class, () -> resolver.resolve("a@upiq.in", "token").block());
+        assertThrows(RuntimeException.class, () -> resolver.resolve("a@upiq.in", "token").block());
+        assertEquals(2, calls.get());
+    }
+
+    private UserIdResolver resolver(HttpStatus status, String body, Duration latency) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            calls.incrementAndGet();
+            Mono<ClientResponse> response = Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+            return latency.isZero() ? response : response.delayElement(latency);
+        });
+        Ticker ticker = nanos::get;
+        return new UserIdResolver(builder, "http://auth", 100, Duration.ofMinutes(10), Duration.ofSeconds(30),
+                Duration.ofSeconds(2), ticker);
+    }
+}
@@ -0,0 +1,80 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-block building blocks of the PDF path. Each invocation handles the next
+ * block (or line) of a pre-generated statement, so the branch mix matches a
+ * real statement instead of one block repeated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlockParseBenchmark {
+
+    private static final int SAMPLE_SIZE = 1024; // power of two, see next()
+
+    @Param({ "PHONEPE", "GPAY", "PAYTM", "BANK" })
+    private StatementGenerator.Format format;
+
+    private AIPDFParserService parserService;
+    private TransactionMappingService mappingService;
+    private DateExtractor dateExtractor;
+
+    private List<List<String>> blocks;
+    private String[] combined;
+    private String[] lines;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        parserService = new AIPDFParserService();
+        mappingService = new TransactionMappingService();
+        dateExtractor = new DateExtractor();
+
+        blocks = new StatementGenerator(42).blocks(format, SAMPLE_SIZE);
+        combined = blocks.stream().map(block -> String.join(" ", block)).toArray(String[]::new);
+        // One line per block, rotating through the block's lines
+        lines = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            List<String> block = blocks.get(i);
+            lines[i] = block.get(i % block.size());
+        }
+    }
+
+    private int next() {
+        return cursor++ & (SAMPLE_SIZE - 1);
+    }
+
+    @Benchmark
+    public TransactionRequest parseBlock() {
+        return parserService.parseBlock(blocks.get(next()));
+    }
+
+    @Benchmark
+    public long extractAmount() {
+        return parserService.extractAmount(combined[next()]);
+    }
+
+    @Benchmark
+    public LocalDateTime extractDate() {
+        return dateExtractor.extract(lines[next()]);
+    }
+
+    @Benchmark
+    public TransactionRequest mapTransactionBlock() {
+        return mappingService.mapTransactionBlock(blocks.get(next()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.utils.InMemoryMultipartFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV ingestion, streamed into a blackhole so the allocation figures show the
+ * parser's own garbage rather than the result list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CsvParseBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    private int rows;
+
+    private CSVParserService csvParserService;
+    private InMemoryMultipartFile file;
+
+    @Setup
+    public void setUp() {
+        csvParserService = new CSVParserService(new TransactionMappingService());
+        byte[] content = new StatementGenerator(42).csv(rows).getBytes(StandardCharsets.UTF_8);
+        file = new InMemoryMultipartFile("file", "statement.csv", "text/csv", content);
+    }
+
+    @Benchmark
+    public int parseCSV(Blackhole blackhole) {
+        return csvParserService.parseCSV(file, blackhole::consume);
+    }
+}
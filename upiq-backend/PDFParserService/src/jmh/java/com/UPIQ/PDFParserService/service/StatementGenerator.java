@@ -0,0 +1,146 @@
+package com.UPIQ.PDFParserService.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic statements for the benchmarks. Output is deterministic for a given
+ * seed, so runs are comparable across commits.
+ */
+public final class StatementGenerator {
+
+    public enum Format {
+        PHONEPE, GPAY, PAYTM, BANK
+    }
+
+    private static final String[] MERCHANTS = { "Swiggy", "Zomato Limited", "Amazon Pay", "BigBasket", "Uber India",
+            "Reliance Fresh", "Apollo Pharmacy", "IRCTC", "BookMyShow", "Airtel Payments" };
+    private static final String[] PEOPLE = { "Rahul Kumar", "Priya Sharma", "Amit Verma", "Neha Gupta", "Karan Singh" };
+    private static final String[] BANKS = { "HDFC Bank", "State Bank of India", "ICICI Bank", "Axis Bank" };
+
+    private static final DateTimeFormatter TEXT_DATE = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter NUMERIC_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final SplittableRandom random;
+    private LocalDate date = LocalDate.of(2025, 4, 1);
+
+    StatementGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Statement text as PDFBox would extract it, one line per row
+     */
+    String statement(Format format, int transactions) {
+        StringBuilder sb = new StringBuilder(transactions * 96);
+        sb.append("Transaction Statement\n");
+        for (List<String> block : blocks(format, transactions)) {
+            for (String line : block) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    List<List<String>> blocks(Format format, int transactions) {
+        List<List<String>> blocks = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            if (random.nextInt(4) == 0) {
+                date = date.plusDays(1);
+            }
+            boolean credit = random.nextInt(5) == 0;
+            blocks.add(switch (format) {
+                case PHONEPE -> phonePe(credit);
+                case GPAY -> gPay(credit);
+                case PAYTM -> paytm(credit);
+                case BANK -> bank(credit);
+            });
+        }
+        return blocks;
+    }
+
+    String csv(int rows) {
+        StringBuilder sb = new StringBuilder(rows * 64);
+        sb.append("Date,Narration,Amount,Type,Mode,Category\n");
+        for (int i = 0; i < rows; i++) {
+            if (random.nextInt(4) == 0) {
+                date = date.plusDays(1);
+            }
+            boolean credit = random.nextInt(5) == 0;
+            sb.append(date.format(NUMERIC_DATE)).append(',')
+                    .append(credit ? "Received from " + pick(PEOPLE) : "Paid to " + pick(MERCHANTS)).append(',')
+                    .append('"').append(amount(credit)).append('"').append(',')
+                    .append(credit ? "Credit" : "Debit").append(',')
+                    .append("UPI").append(',')
+                    .append(credit ? "" : "Shopping").append('\n');
+        }
+        return sb.toString();
+    }
+
+    private List<String> phonePe(boolean credit) {
+        return List.of(
+                date.format(TEXT_DATE) + " " + time(),
+                credit ? "Received from " + pick(PEOPLE) : "Paid to " + pick(MERCHANTS),
+                "Transaction ID T" + digits(20),
+                "UTR No. " + digits(12),
+                (credit ? "Credited to " : "Debited from ") + "XX" + digits(4),
+                (credit ? "CREDIT " : "DEBIT ") + "₹" + amount(credit));
+    }
+
+    private List<String> gPay(boolean credit) {
+        return List.of(
+                credit ? "Received from " + pick(PEOPLE) : "Paid to " + pick(MERCHANTS),
+                "UPI Transaction ID: " + digits(12),
+                (credit ? "Paid to " : "Paid by ") + pick(BANKS) + " " + digits(4),
+                "₹" + amount(credit),
+                date.format(TEXT_DATE) + ", " + time());
+    }
+
+    private List<String> paytm(boolean credit) {
+        return List.of(
+                date.format(TEXT_DATE),
+                credit ? "Received from " + pick(PEOPLE) : "Sent to " + pick(PEOPLE),
+                "UPI Ref No: " + digits(12),
+                pick(BANKS) + " - " + digits(2),
+                (credit ? "+ Rs." : "- Rs.") + amount(credit));
+    }
+
+    private List<String> bank(boolean credit) {
+        String day = date.format(NUMERIC_DATE);
+        if (credit) {
+            return List.of(
+                    day + " UPI/CR/" + digits(12) + "/" + pick(PEOPLE).toUpperCase(Locale.ROOT),
+                    "Credited Received from " + pick(PEOPLE) + " INR " + amount(true));
+        }
+        return List.of(
+                day + " UPI/DR/" + digits(12) + "/" + pick(MERCHANTS).toUpperCase(Locale.ROOT),
+                "Debited Payment to " + pick(MERCHANTS) + " INR " + amount(false));
+    }
+
+    private String amount(boolean credit) {
+        long paise = credit ? 100_000 + random.nextLong(5_000_000) : 1_000 + random.nextLong(500_000);
+        String rupees = String.format(Locale.ROOT, "%,d", paise / 100);
+        return rupees + "." + String.format(Locale.ROOT, "%02d", paise % 100);
+    }
+
+    private String time() {
+        int hour = 1 + random.nextInt(12);
+        return String.format(Locale.ROOT, "%02d:%02d %s", hour, random.nextInt(60), random.nextBoolean() ? "AM" : "PM");
+    }
+
+    private String digits(int count) {
+        char[] chars = new char[count];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,44 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-statement text parsing: block detection, sticky dates and
+ * {@code parseBlock} for every transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StatementParseBenchmark {
+
+    @Param({ "PHONEPE", "GPAY", "PAYTM", "BANK" })
+    private StatementGenerator.Format format;
+
+    @Param({ "100", "1000", "10000" })
+    private int transactions;
+
+    private AIPDFParserService parserService;
+    private String statement;
+
+    @Setup
+    public void setUp() {
+        parserService = new AIPDFParserService();
+        statement = new StatementGenerator(42).statement(format, transactions);
+    }
+
+    @Benchmark
+    public List<TransactionRequest> parseTransactions() {
+        return parserService.parseTransactions(statement);
+    }
+}
@@ -1,13 +1,84 @@
 package com.UPIQ.PDFParserService.config;
 
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class for parser services
  * PDF parsing is handled directly by Apache PDFBox
  */
+@Getter
 @Configuration
 public class ParserConfig {
-    // Configuration can be added here if needed in the future
-}
 
+    // Split large PDFs into page ranges and extract them concurrently
+    @Value("${app.parser.pdf.parallel.enabled:false}")
+    private boolean parallelExtractionEnabled;
+
+    @Value("${app.parser.pdf.parallel.threads:4}")
+    private int extractionThreads;
+
+    // Documents shorter than this are always extracted sequentially
+    @Value("${app.parser.pdf.parallel.min-pages:40}")
+    private int parallelMinPages;
+
+    @Value("${app.parser.pdf.parallel.pages-per-range:20}")
+    private int pagesPerRange;
+
+    // Background parse jobs: worker count and how many uploads may wait for a worker
+    @Value("${app.parser.jobs.workers:2}")
+    private int jobWorkers;
+
+    @Value("${app.parser.jobs.queue-capacity:20}")
+    private int jobQueueCapacity;
+
+    // Finished jobs and their results are dropped after this long
+    @Value("${app.parser.jobs.retention-minutes:30}")
+    private long jobRetentionMinutes;
+
+    // Parse results of identical uploads are reused for this long
+    @Value("${app.parser.cache.enabled:true}")
+    private boolean resultCacheEnabled;
+
+    @Value("${app.parser.cache.max-entries:200}")
+    private int resultCacheMaxEntries;
+
+    @Value("${app.parser.cache.ttl-minutes:1440}")
+    private long resultCacheTtlMinutes;
+
+    // Optional directory for a second, restart-proof cache tier; empty disables it
+    @Value("${app.parser.cache.directory:}")
+    private String resultCacheDirectory;
+
+    /**
+     * Bounded pool shared by all uploads for page-range extraction. Like the
+     * job pool below it stays on platform threads in virtual thread mode:
+     * the work is CPU bound, so the bound is what matters.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService pdfExtractionExecutor() {
+        return new ForkJoinPool(Math.max(1, extractionThreads));
+    }
+
+    /**
+     * Workers for asynchronous parse jobs. The queue is bounded and rejects
+     * once full, so bursts are turned away instead of timing out.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService parseJobExecutor() {
+        int workers = Math.max(1, jobWorkers);
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobQueueCapacity)),
+                new CustomizableThreadFactory("parse-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -1,10 +1,14 @@
 package com.UPIQ.PDFParserService.controller;
 
 import com.UPIQ.PDFParserService.dto.ApiResponse;
+import com.UPIQ.PDFParserService.dto.ParseJobResponse;
+import com.UPIQ.PDFParserService.dto.ParseJobResultPage;
 import com.UPIQ.PDFParserService.dto.ParsingResponse;
+import com.UPIQ.PDFParserService.service.ParseJobService;
 import com.UPIQ.PDFParserService.service.ParserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +21,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class ParserController {
 
         private final ParserService parserService;
+        private final ParseJobService parseJobService;
 
         /**
          * Upload and parse a transaction file (PDF or CSV)
@@ -42,6 +47,62 @@ public class ParserController {
                 return ResponseEntity.ok(apiResponse);
         }
 
+        /**
+         * Queue a file for background parsing and return immediately
+         *
+         * @param file The transaction file to parse (PDF or CSV)
+         * @return ApiResponse containing the job id to poll
+         */
+        @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<ApiResponse<ParseJobResponse>> submitParseJob(
+                        @RequestParam("file") MultipartFile file,
+                        @RequestHeader("X-User-Id") Long userId) {
+                log.info("Received async parse request: {} ({} bytes)",
+                                file.getOriginalFilename(), file.getSize());
+
+                ParseJobResponse job = parseJobService.submit(file, userId);
+
+                ApiResponse<ParseJobResponse> apiResponse = ApiResponse.<ParseJobResponse>builder()
+                                .success(true)
+                                .data(job)
+                                .message("File queued for parsing")
+                                .build();
+
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(apiResponse);
+        }
+
+        /**
+         * Poll the status of a parse job
+         */
+        @GetMapping("/jobs/{jobId}")
+        public ResponseEntity<ApiResponse<ParseJobResponse>> getParseJob(
+                        @PathVariable String jobId,
+                        @RequestHeader("X-User-Id") Long userId) {
+                ApiResponse<ParseJobResponse> apiResponse = ApiResponse.<ParseJobResponse>builder()
+                                .success(true)
+                                .data(parseJobService.getStatus(jobId, userId))
+                                .message("Parse job retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(apiResponse);
+        }
+
+        /**
+         * Page through the transactions of a completed parse job
+         */
+        @GetMapping("/jobs/{jobId}/transactions")
+        public ResponseEntity<ApiResponse<ParseJobResultPage>> getParseJobTransactions(
+                        @PathVariable String jobId,
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "100") int size) {
+                ApiResponse<ParseJobResultPage> apiResponse = ApiResponse.<ParseJobResultPage>builder()
+                                .success(true)
+                                .data(parseJobService.getResults(jobId, userId, page, size))
+                                .message("Parsed transactions retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(apiResponse);
+        }
+
         /**
          * Health check endpoint
          */
@@ -0,0 +1,22 @@
+package com.UPIQ.PDFParserService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParseJobResultPage {
+    private String jobId;
+    private int page;
+    private int size;
+    private int totalElements;
+    private int totalPages;
+    private List<TransactionRequest> transactions;
+    private List<String> errors;    // parser errors, first page only
+}
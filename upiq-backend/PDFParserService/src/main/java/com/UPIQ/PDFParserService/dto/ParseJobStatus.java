@@ -0,0 +1,8 @@
+package com.UPIQ.PDFParserService.dto;
+
+public enum ParseJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,8 +1,8 @@
 package com.UPIQ.PDFParserService.dto;
 
+import com.UPIQ.PDFParserService.utils.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -10,12 +10,11 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TransactionRequest {
 
     @NotNull(message = "Amount is required")
-    @Positive(message = "Amount must be positive")
-    private Double amount;
+    private Money amount;      // serialized as decimal rupees
 
     private String type;       // expense / income
 
@@ -27,5 +26,7 @@ public class TransactionRequest {
     private LocalDateTime date;
 
     private String paymentMethod; // UPI, Cash, Card, Net Banking
+
+    private String reference;     // UTR / UPI reference when the statement shows one
 }
 
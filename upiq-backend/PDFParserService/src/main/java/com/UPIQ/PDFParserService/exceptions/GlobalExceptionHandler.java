@@ -2,6 +2,7 @@ package com.UPIQ.PDFParserService.exceptions;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +30,45 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    @ExceptionHandler(ParseJobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleParseJobNotFound(
+            ParseJobNotFoundException ex, HttpServletRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("status", HttpStatus.NOT_FOUND.value());
+        response.put("error", "Parse Job Not Found");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    @ExceptionHandler(ParseJobNotReadyException.class)
+    public ResponseEntity<Map<String, Object>> handleParseJobNotReady(
+            ParseJobNotReadyException ex, HttpServletRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Parse Job Not Ready");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(ParserBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleParserBusy(
+            ParserBusyException ex, HttpServletRequest request) {
+        log.warn("Parser busy: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now().toString());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Parser Busy");
+        response.put("message", ex.getMessage());
+        response.put("path", request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<Map<String, Object>> handleMaxSizeException(
             MaxUploadSizeExceededException ex, HttpServletRequest request) {
@@ -0,0 +1,7 @@
+package com.UPIQ.PDFParserService.exceptions;
+
+public class ParseJobNotFoundException extends RuntimeException {
+    public ParseJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.UPIQ.PDFParserService.exceptions;
+
+public class ParseJobNotReadyException extends RuntimeException {
+    public ParseJobNotReadyException(String message) {
+        super(message);
+    }
+}
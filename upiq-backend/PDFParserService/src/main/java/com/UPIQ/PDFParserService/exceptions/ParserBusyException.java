@@ -0,0 +1,7 @@
+package com.UPIQ.PDFParserService.exceptions;
+
+public class ParserBusyException extends RuntimeException {
+    public ParserBusyException(String message) {
+        super(message);
+    }
+}
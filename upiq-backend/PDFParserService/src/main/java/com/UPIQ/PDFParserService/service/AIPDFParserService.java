@@ -1,25 +1,32 @@
 package com.UPIQ.PDFParserService.service;
 
+import com.UPIQ.PDFParserService.config.ParserConfig;
 import com.UPIQ.PDFParserService.dto.TransactionRequest;
 import com.UPIQ.PDFParserService.exceptions.ParsingException;
-import com.UPIQ.PDFParserService.utils.ParsingUtils;
+import com.UPIQ.PDFParserService.utils.KeywordHits;
+import com.UPIQ.PDFParserService.utils.KeywordMatcher;
+import com.UPIQ.PDFParserService.utils.Money;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+
+import static com.UPIQ.PDFParserService.utils.TransactionKeyword.*;
 
 @Slf4j
 @Service
@@ -27,14 +34,6 @@ public class AIPDFParserService {
 
     private static final Pattern CURRENCY_PATTERN = Pattern.compile("(?:₹|rs\\.?|inr)\\s*([\\d,]+(?:\\.\\d{1,2})?)",
             Pattern.CASE_INSENSITIVE);
-    private static final Pattern DATE_PATTERN = Pattern.compile(
-            // Matches: dd/mm/yyyy, dd-mm-yyyy, dd.mm.yyyy, yyyy-mm-dd (with optional
-            // spaces)
-            "\\b(\\d{1,2}\\s*[/\\.-]\\s*\\d{1,2}\\s*[/\\.-]\\s*\\d{2,4})\\b|\\b(\\d{4}\\s*-\\s*\\d{1,2}\\s*-\\s*\\d{1,2})\\b|"
-                    +
-                    // Matches: dd Mon yyyy, dd Month yyyy (with optional commas)
-                    "(\\d{1,2}\\s+(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\s*[,\\s]+\\s*\\d{2,4})",
-            Pattern.CASE_INSENSITIVE);
 
     // Fixed: Restored "Paid to" triggers but restricted Bank Name matching to avoid
     // false positives.
@@ -45,71 +44,178 @@ public class AIPDFParserService {
             "(?i)(?:paid to|payment to|credited to|credit to)\\s+" +
                     "(?:mybankname|bank\\s+of\\s+\\w+|state\\s+bank|hdfc|icici|axis|sbi|pnb|kotak|yes\\s+bank|idfc|hsbc|citibank|union\\s+bank|canara\\s+bank|central\\s+bank|indusind|rbl|federal\\s+bank|(?:[\\w']+\\s+){0,2}bank\\b)");
 
-    private static final Set<String> IGNORE_PATTERNS = Set.of("opening balance", "closing balance", "date & time",
-            "page", "statement");
+    // Amounts at or above 10 lakh rupees are treated as reference numbers
+    private static final long MAX_AMOUNT_PAISE = 100_000_000L;
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("[\\u00A0\\s]+");
+
+    private static final long IGNORE_KEYWORDS = KeywordMatcher.mask(OPENING_BALANCE, CLOSING_BALANCE,
+            DATE_AND_TIME, PAGE, STATEMENT);
+
+    private static final long BLOCK_START_KEYWORDS = KeywordMatcher.mask(PAID_TO, RECEIVED_FROM, CREDITED_TO,
+            SENT_TO, PURCHASE, PAYMENT_TO);
 
-    // Helper to create robust case-insensitive English formatters
-    private static DateTimeFormatter createFormatter(String pattern) {
-        return new DateTimeFormatterBuilder()
-                .parseCaseInsensitive()
-                .appendPattern(pattern)
-                .toFormatter(Locale.ENGLISH);
+    private static final long CREDIT_KEYWORDS = KeywordMatcher.mask(RECEIVED_FROM, CREDITED, REFUND, CASHBACK,
+            PAID_TO_YOU);
+
+    private static final long DEBIT_KEYWORDS = KeywordMatcher.mask(PAID_TO, DEBITED, SENT_TO, PURCHASE, PAYMENT_TO);
+
+    private final DescriptionExtractor descriptionExtractor = new DescriptionExtractor();
+    private final DateExtractor dateExtractor = new DateExtractor();
+    private final ReferenceExtractor referenceExtractor = new ReferenceExtractor();
+    private final ParserConfig parserConfig;
+    private final ExecutorService extractionExecutor;
+
+    public AIPDFParserService() {
+        this(null, null);
     }
 
-    // Standard formatters
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-            createFormatter("d/M/yyyy"), createFormatter("d-M-yyyy"), createFormatter("d.M.yyyy"),
-            createFormatter("d/M/yy"), createFormatter("d-M-yy"), createFormatter("d.M.yy"),
-            createFormatter("yyyy-MM-dd"),
-            createFormatter("d MMM yyyy"), createFormatter("d MMM yy"),
-            createFormatter("d MMM, yyyy"), createFormatter("d MMM, yy"),
-            createFormatter("dd MMM yyyy"), createFormatter("dd MMM, yyyy"));
+    @Autowired
+    public AIPDFParserService(ParserConfig parserConfig,
+            @Qualifier("pdfExtractionExecutor") ExecutorService extractionExecutor) {
+        this.parserConfig = parserConfig;
+        this.extractionExecutor = extractionExecutor;
+    }
 
     public List<TransactionRequest> parsePDF(MultipartFile file) {
         log.info("Starting PDF parsing for file: {}", file.getOriginalFilename());
+        if (parserConfig != null && extractionExecutor != null && parserConfig.isParallelExtractionEnabled()) {
+            return parsePDFParallel(file);
+        }
         try (InputStream inputStream = file.getInputStream();
-                PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
+                PDDocument document = Loader.loadPDF(new RandomAccessReadBuffer(inputStream))) {
+            return extractPages(document);
+        } catch (IOException e) {
+            log.error("Error reading PDF", e);
+            throw new ParsingException("Error reading PDF: " + e.getMessage(), e);
+        }
+    }
 
-            String text = new PDFTextStripper().getText(document);
-            if (text == null || text.trim().isEmpty()) {
-                log.warn("PDF extracted text is empty");
-                throw new ParsingException("Empty PDF");
+    private List<TransactionRequest> extractPages(PDDocument document) throws IOException {
+        // Walk the document one page at a time so only a single page of text is
+        // held on the heap; the collector keeps the open block and sticky date
+        // across page boundaries.
+        PDFTextStripper stripper = new PDFTextStripper();
+        BlockCollector collector = new BlockCollector();
+        int pageCount = document.getNumberOfPages();
+        for (int page = 1; page <= pageCount; page++) {
+            stripper.setStartPage(page);
+            stripper.setEndPage(page);
+            collector.acceptText(stripper.getText(document));
+        }
+        return finishDocument(collector, pageCount);
+    }
+
+    private List<TransactionRequest> parsePDFParallel(MultipartFile file) {
+        byte[] pdf;
+        int pageCount;
+        try {
+            pdf = file.getBytes();
+            try (PDDocument document = Loader.loadPDF(pdf)) {
+                pageCount = document.getNumberOfPages();
+                if (pageCount < parserConfig.getParallelMinPages()) {
+                    return extractPages(document);
+                }
             }
-            log.debug("Extracted text length: {}", text.length());
-            return parseTransactions(text);
         } catch (IOException e) {
             log.error("Error reading PDF", e);
             throw new ParsingException("Error reading PDF: " + e.getMessage(), e);
         }
+
+        // PDDocument is not thread-safe, so every range loads its own copy. Only
+        // the text extraction runs concurrently; block detection consumes the
+        // ranges strictly in page order so sticky dates and blocks spanning a
+        // range boundary behave exactly as in the sequential path.
+        int rangeSize = Math.max(1, parserConfig.getPagesPerRange());
+        List<Future<String>> ranges = new ArrayList<>();
+        for (int start = 1; start <= pageCount; start += rangeSize) {
+            int from = start;
+            int to = Math.min(pageCount, start + rangeSize - 1);
+            ranges.add(extractionExecutor.submit(() -> extractRange(pdf, from, to)));
+        }
+        log.debug("Extracting {} pages in {} ranges", pageCount, ranges.size());
+
+        BlockCollector collector = new BlockCollector();
+        try {
+            for (Future<String> range : ranges) {
+                collector.acceptText(range.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingException("PDF parsing interrupted", e);
+        } catch (ExecutionException e) {
+            log.error("Error reading PDF", e.getCause());
+            throw new ParsingException("Error reading PDF: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            ranges.forEach(range -> range.cancel(true));
+        }
+        return finishDocument(collector, pageCount);
     }
 
-    private List<TransactionRequest> parseTransactions(String text) {
-        // Pre-process: Normalize spaces to ensure regex matching works reliably
-        List<String> lines = Arrays.stream(text.split("\\r?\\n"))
-                .map(line -> line.replaceAll("[\\u00A0\\s]+", " ").trim())
-                .filter(line -> !line.isEmpty() && !IGNORE_PATTERNS.stream().anyMatch(line.toLowerCase()::contains))
-                .collect(Collectors.toList());
+    private String extractRange(byte[] pdf, int startPage, int endPage) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return stripper.getText(document);
+        }
+    }
 
-        log.info("Processing {} lines after filtering", lines.size());
+    private List<TransactionRequest> finishDocument(BlockCollector collector, int pageCount) {
+        if (collector.getLineCount() == 0) {
+            log.warn("PDF extracted text is empty");
+            throw new ParsingException("Empty PDF");
+        }
+        log.debug("Extracted {} lines from {} pages", collector.getLineCount(), pageCount);
+        return collector.finish();
+    }
 
-        List<TransactionRequest> transactions = new ArrayList<>();
-        List<String> currentBlock = new ArrayList<>();
-        LocalDateTime lastSeenDate = null;
+    List<TransactionRequest> parseTransactions(String text) {
+        BlockCollector collector = new BlockCollector();
+        collector.acceptText(text);
+        return collector.finish();
+    }
+
+    /**
+     * Incremental block detection: lines are pushed one at a time (page by page
+     * for PDFs), so the document never has to be materialised as a single list.
+     * The current block and the "sticky date" carry over between calls.
+     */
+    private final class BlockCollector {
+        private final List<TransactionRequest> transactions = new ArrayList<>();
+        private final List<String> currentBlock = new ArrayList<>();
+        private LocalDateTime lastSeenDate;
+        private final Matcher whitespace = WHITESPACE_PATTERN.matcher("");
+        private int lineCount;
+
+        void acceptText(String text) {
+            if (text != null) {
+                text.lines().forEach(this::accept);
+            }
+        }
+
+        void accept(String rawLine) {
+            // Pre-process: Normalize spaces to ensure regex matching works reliably
+            String line = whitespace.reset(rawLine).replaceAll(" ").trim();
+            if (line.isEmpty()) {
+                return;
+            }
+            // One keyword scan per line, shared by the ignore filter and start detection
+            KeywordHits hits = KeywordMatcher.scan(line);
+            if (hits.hasAny(IGNORE_KEYWORDS)) {
+                return;
+            }
+            lineCount++;
 
-        for (String line : lines) {
             // "Sticky Date" logic: if a line is a date, remember it for subsequent blocks
-            LocalDateTime foundDate = extractDate(line);
+            LocalDateTime foundDate = dateExtractor.extract(line);
             if (foundDate != null) {
                 lastSeenDate = foundDate;
             }
 
-            String lower = line.toLowerCase();
             // Robust start detection logic (contains)
-            boolean isStart = lower.contains("paid to") || lower.contains("received from")
-                    || (lower.contains("debited") && !lower.contains("debited from"))
-                    || lower.contains("credited to")
-                    || lower.contains("sent to") || lower.contains("purchase")
-                    || lower.contains("payment to");
+            boolean isStart = hits.hasAny(BLOCK_START_KEYWORDS)
+                    || (hits.has(DEBITED) && !hits.has(DEBITED_FROM));
 
             if (isStart && !currentBlock.isEmpty()) {
                 addTx(transactions, currentBlock, lastSeenDate);
@@ -117,10 +223,21 @@ public class AIPDFParserService {
             }
             currentBlock.add(line);
         }
-        addTx(transactions, currentBlock, lastSeenDate);
 
-        log.info("Parsed {} transactions", transactions.size());
-        return transactions;
+        int getLineCount() {
+            return lineCount;
+        }
+
+        List<TransactionRequest> finish() {
+            addTx(transactions, currentBlock, lastSeenDate);
+            currentBlock.clear();
+            log.info("Processed {} lines after filtering", lineCount);
+            log.debug("Date extraction totals: {} found, {} lines without date, {} unparseable",
+                    dateExtractor.getDatesFound(), dateExtractor.getLinesWithoutDate(),
+                    dateExtractor.getUnparseableDates());
+            log.info("Parsed {} transactions", transactions.size());
+            return transactions;
+        }
     }
 
     private void addTx(List<TransactionRequest> transactions, List<String> block, LocalDateTime lastSeenDate) {
@@ -142,254 +259,72 @@ public class AIPDFParserService {
         if (block == null || block.isEmpty())
             return null;
         String combined = String.join(" ", block);
-        String lower = combined.toLowerCase();
+        KeywordHits hits = KeywordMatcher.scan(combined);
 
-        if (lower.contains("paid to and") && lower.contains("received from and"))
+        if (hits.has(PAID_TO_AND) && hits.has(RECEIVED_FROM_AND))
             return null;
 
-        String type = determineTransactionType(combined);
+        String type = determineTransactionType(combined, hits);
         if ("UNKNOWN".equals(type))
             return null;
 
         String finalType = "CREDIT".equals(type) ? "income" : "expense";
-        Double amount = extractAmount(combined);
-        if (amount == null)
+        long amount = extractAmount(combined);
+        if (amount == Money.INVALID)
             return null;
 
         TransactionRequest tx = new TransactionRequest();
         tx.setType(finalType);
-        tx.setAmount(amount);
+        tx.setAmount(Money.ofPaise(amount));
 
         // Try to find date in the block first; fallback to sticky date
-        LocalDateTime extractedDate = extractDate(combined);
+        LocalDateTime extractedDate = dateExtractor.extract(combined);
         if (extractedDate == null) {
             extractedDate = lastSeenDate;
         }
         tx.setDate(extractedDate);
 
-        if (extractedDate == null) {
-            log.warn("Transaction parsed without date - Amount: {}, Type: {}", amount, finalType);
-        }
 
-        tx.setDescription(extractDescription(block, type));
-        tx.setPaymentMethod(lower.contains("cash") ? "CASH" : "UPI");
+        tx.setDescription(descriptionExtractor.extract(block, combined, type));
+        tx.setReference(referenceExtractor.extract(combined));
+        tx.setPaymentMethod(hits.has(CASH) ? "CASH" : "UPI");
 
         return tx;
     }
 
     String determineTransactionType(String text) {
-        String lower = text.toLowerCase();
+        return determineTransactionType(text, KeywordMatcher.scan(text));
+    }
+
+    private String determineTransactionType(String text, KeywordHits hits) {
         // Credit
-        if (lower.contains("received from") || lower.contains("credited") ||
-                lower.contains("refund") || lower.contains("cashback") ||
-                lower.contains("paid to you"))
+        if (hits.hasAny(CREDIT_KEYWORDS))
             return "CREDIT";
 
         if (BANK_PATTERN.matcher(text).find())
             return "CREDIT";
 
         // Debit
-        if (lower.contains("paid to") || lower.contains("debited") ||
-                lower.contains("sent to") || lower.contains("purchase") ||
-                lower.contains("payment to"))
+        if (hits.hasAny(DEBIT_KEYWORDS))
             return "DEBIT";
 
         return "UNKNOWN";
     }
 
-    private String extractDescription(List<String> block, String type) {
-        String combined = String.join(" ", block).trim();
-        String name = null;
-        String lower = combined.toLowerCase();
-
-        if ("DEBIT".equals(type)) {
-            Pattern p = Pattern.compile(
-                    "(?:paid to|sent to|transfer to|payment to|pay to)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher m = p.matcher(combined);
-            if (m.find()) {
-                name = cleanName(m.group(1), "");
-                if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
-                    return "Paid to " + name;
-                }
-            }
-
-            String[] debitKeywords = { "paid to", "sent to", "debited", "purchase", "payment to" };
-            for (String line : block) {
-                for (String kw : debitKeywords) {
-                    if (line.toLowerCase().contains(kw)) {
-                        String clean = cleanName(line, kw);
-                        if (!clean.isEmpty())
-                            return formatDesc(kw, clean);
-                    }
-                }
-            }
-        } else { // CREDIT
-            // 1. Try "Paid by" pattern first (most specific for income)
-            Pattern paidByPattern = Pattern.compile(
-                    "paid\\s+by\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:paid|to|upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher paidByMatcher = paidByPattern.matcher(combined);
-            if (paidByMatcher.find()) {
-                name = cleanName(paidByMatcher.group(1), "");
-                if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
-                    return "Received from " + name;
-                }
-            }
-
-            // 2. Try "Received from" / "Credited from" patterns
-            Pattern receivedPattern = Pattern.compile(
-                    "(?:received from|credited from|credit from)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
-                    Pattern.CASE_INSENSITIVE);
-            Matcher receivedMatcher = receivedPattern.matcher(combined);
-            if (receivedMatcher.find()) {
-                name = cleanName(receivedMatcher.group(1), "");
-                if (!name.isEmpty() && !name.toLowerCase().matches(".*(?:bank|account|wallet|your).*")) {
-                    return "Received from " + name;
-                }
-            }
-
-            // 3. Fallback: Check each line for keywords
-            for (String line : block) {
-                String lineLower = line.toLowerCase();
-
-                // Check for "paid by"
-                if (lineLower.contains("paid by")) {
-                    String clean = cleanName(line, "paid by");
-                    if (!clean.isEmpty() && !clean.toLowerCase().matches(".*(?:bank|account|wallet).*"))
-                        return "Received from " + clean;
-                }
-
-                // Check for "received from"
-                if (lineLower.contains("received from")) {
-                    String clean = cleanName(line, "received from");
-                    if (!clean.isEmpty() && !clean.toLowerCase().matches(".*(?:bank|account|wallet).*"))
-                        return "Received from " + clean;
-                }
-
-                // Check for refund/cashback
-                if (lineLower.contains("refund") || lineLower.contains("cashback")) {
-                    String clean = cleanName(line, lineLower.contains("refund") ? "refund" : "cashback");
-                    if (!clean.isEmpty())
-                        return "Received from " + clean;
-                }
-            }
-
-            // 4. Last Resort: "Paid to {My Bank}" -> "Deposit to {My Bank}"
-            if (lower.startsWith("paid to") || lower.startsWith("payment to")) {
-                for (String line : block) {
-                    String lineLower = line.toLowerCase();
-                    if (lineLower.contains("paid to")) {
-                        String clean = cleanName(line, "paid to");
-                        if (!clean.isEmpty())
-                            return "Deposit to " + clean;
-                    }
-                    if (lineLower.contains("payment to")) {
-                        String clean = cleanName(line, "payment to");
-                        if (!clean.isEmpty())
-                            return "Deposit to " + clean;
-                    }
-                }
-            }
-        }
-
-        return "Transaction";
-    }
-
-    private String formatDesc(String keyword, String name) {
-        String cap = Character.toUpperCase(keyword.charAt(0)) + keyword.substring(1);
-        return cap + " " + name;
-    }
-
     private boolean isNoise(String line) {
-        return CURRENCY_PATTERN.matcher(line).find() || DATE_PATTERN.matcher(line).find()
-                || line.toLowerCase().contains("upi id");
+        return CURRENCY_PATTERN.matcher(line).find() || dateExtractor.containsDate(line)
+                || KeywordMatcher.scan(line).has(UPI_ID);
     }
 
-    private String cleanName(String line, String keyword) {
-        int idx = 0;
-        if (!keyword.isEmpty()) {
-            idx = line.toLowerCase().indexOf(keyword);
-            if (idx == -1)
-                return line.trim();
-            idx += keyword.length();
-        }
-
-        String raw = line.substring(idx).trim();
-        return raw.replaceAll("(?i)(?:upi|ref|id|rs|inr|₹).*$", "")
-                .replaceAll("\\d.*$", "")
-                .replaceAll("[-–].*$", "")
-                .trim();
-    }
-
-    private Double extractAmount(String text) {
+    // Amount in paise, or Money.INVALID
+    long extractAmount(String text) {
         Matcher m = CURRENCY_PATTERN.matcher(text);
         while (m.find()) {
-            try {
-                String val = m.group(1).replace(",", "");
-                double d = Double.parseDouble(val);
-                if (d > 0 && d < 1000000)
-                    return d;
-            } catch (Exception e) {
-                /* ignore */ }
-        }
-        return null;
-    }
-
-    private LocalDateTime extractDate(String text) {
-        Matcher m = DATE_PATTERN.matcher(text);
-        if (m.find()) {
-            // Group 1: Numeric (dd/mm/yyyy)
-            // Group 2: ISO (yyyy-mm-dd)
-            // Group 3: Text Month (dd Mon yyyy)
-
-            try {
-                if (m.group(3) != null) {
-                    // Text Month Logic
-                    String s = m.group(3);
-                    // Normalize: remove dots, commas, extra spaces -> "01 Oct 2025"
-                    s = s.replaceAll("[,\\.\\-]", " ").replaceAll("\\s+", " ").trim();
-                    log.debug("Normalized Text-Month Date: '{}'", s);
-
-                    List<DateTimeFormatter> textFormatters = Arrays.asList(
-                            createFormatter("d MMM yyyy"),
-                            createFormatter("d MMM yy"),
-                            createFormatter("dd MMM yyyy"));
-
-                    for (DateTimeFormatter fmt : textFormatters) {
-                        try {
-                            return LocalDate.parse(s, fmt).atStartOfDay();
-                        } catch (Exception ignored) {
-                        }
-                    }
-                } else if (m.group(2) != null) {
-                    // ISO Logic
-                    String s = m.group(2).replaceAll("\\s+", ""); // remove spaces "2023 - 10 - 26"
-                    return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay();
-                } else if (m.group(1) != null) {
-                    // Numeric Logic
-                    String s = m.group(1);
-                    // Normalize: replace . - with / -> "26/10/2023"
-                    s = s.replaceAll("[\\.\\-]", "/").replaceAll("\\s+", "");
-                    log.debug("Normalized Numeric Date: '{}'", s);
-
-                    List<DateTimeFormatter> numericFormatters = Arrays.asList(
-                            createFormatter("d/M/yyyy"),
-                            createFormatter("d/M/yy"));
-
-                    for (DateTimeFormatter fmt : numericFormatters) {
-                        try {
-                            return LocalDate.parse(s, fmt).atStartOfDay();
-                        } catch (Exception ignored) {
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Error parsing date group: {}", e.getMessage());
-            }
+            long paise = Money.parsePaise(text, m.start(1), m.end(1));
+            if (paise > 0 && paise < MAX_AMOUNT_PAISE)
+                return paise;
         }
-        log.warn("Failed to find date pattern in text: {}", text.substring(0, Math.min(100, text.length())));
-        return null;
+        return Money.INVALID;
     }
 
     private boolean isValid(TransactionRequest tx) {
@@ -2,6 +2,7 @@ package com.UPIQ.PDFParserService.service;
 
 import com.UPIQ.PDFParserService.dto.TransactionRequest;
 import com.UPIQ.PDFParserService.exceptions.ParsingException;
+import com.UPIQ.PDFParserService.utils.Money;
 import com.UPIQ.PDFParserService.utils.ParsingUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,29 +17,58 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CSVParserService {
 
+    private static final String[] AMOUNT_COLUMNS = { "amount", "value", "transaction_amount", "amt", "total" };
+    private static final String[] TYPE_COLUMNS = { "type", "transaction_type", "credit_debit", "cd" };
+    // "note" is only used for the description itself, not for inferring the type
+    private static final String[] TYPE_HINT_COLUMNS = { "description", "details", "narration", "remarks", "memo" };
+    private static final String[] DESCRIPTION_COLUMNS = { "description", "details", "narration", "remarks", "memo", "note" };
+    private static final String[] DATE_COLUMNS = { "date", "transaction_date", "date_time", "timestamp" };
+    private static final String[] PAYMENT_METHOD_COLUMNS = { "payment_method", "method", "payment_type", "mode" };
+    private static final String[] CATEGORY_COLUMNS = { "category", "cat", "transaction_category" };
+
     private final TransactionMappingService mappingService;
 
     public List<TransactionRequest> parseCSV(MultipartFile file) {
         List<TransactionRequest> transactions = new ArrayList<>();
+        parseCSV(file, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * Streams the file record by record, handing each valid transaction to
+     * {@code sink} as soon as it is parsed. Only one record is held in memory
+     * at a time.
+     *
+     * @return the number of transactions emitted
+     */
+    public int parseCSV(MultipartFile file, Consumer<TransactionRequest> sink) {
+        int emitted = 0;
+        long records = 0;
 
         try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
              CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim())) {
 
-            List<CSVRecord> records = csvParser.getRecords();
-            log.info("Parsing {} CSV records", records.size());
+            ColumnPlan plan = ColumnPlan.of(csvParser.getHeaderMap());
 
-            for (CSVRecord record : records) {
+            for (CSVRecord record : csvParser) {
+                records++;
                 try {
-                    TransactionRequest tx = parseRecord(record);
-                    if (tx != null && tx.getAmount() != null && tx.getAmount() > 0) {
-                        transactions.add(tx);
+                    TransactionRequest tx = parseRecord(record, plan);
+                    if (tx != null && tx.getAmount() != null && tx.getAmount().isPositive()) {
+                        sink.accept(tx);
+                        emitted++;
                     }
                 } catch (Exception e) {
                     log.warn("Failed to parse CSV record {}: {}", record.getRecordNumber(), e.getMessage());
@@ -50,30 +80,31 @@ public class CSVParserService {
             throw new ParsingException("Failed to parse CSV file: " + e.getMessage(), e);
         }
 
-        log.info("Successfully parsed {} transactions from CSV", transactions.size());
-        return transactions;
+        log.info("Successfully parsed {} transactions from {} CSV records", emitted, records);
+        return emitted;
     }
 
-    private TransactionRequest parseRecord(CSVRecord record) {
+    private TransactionRequest parseRecord(CSVRecord record, ColumnPlan plan) {
         TransactionRequest tx = new TransactionRequest();
 
         // Try to extract amount from various possible column names
-        String amountStr = getValueIgnoreCase(record, "amount", "value", "transaction_amount", "amt", "total");
+        String amountStr = plan.value(record, plan.amount);
         if (amountStr != null && !amountStr.isEmpty()) {
-            try {
-                tx.setAmount(Double.parseDouble(amountStr.replaceAll("[^0-9.-]", "")));
-            } catch (NumberFormatException e) {
+            long paise = Money.parsePaiseLenient(amountStr);
+            if (paise != Money.INVALID) {
+                tx.setAmount(Money.ofPaise(paise));
+            } else {
                 log.warn("Could not parse amount: {}", amountStr);
             }
         }
 
         // Extract type (income/expense)
-        String typeStr = getValueIgnoreCase(record, "type", "transaction_type", "credit_debit", "cd");
+        String typeStr = plan.value(record, plan.type);
         if (typeStr != null) {
             tx.setType(mappingService.extractType(typeStr));
         } else {
             // Infer from amount or description
-            String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo");
+            String description = plan.value(record, plan.typeHint);
             if (description != null) {
                 tx.setType(mappingService.extractType(description));
             } else {
@@ -82,13 +113,13 @@ public class CSVParserService {
         }
 
         // Extract description
-        String description = getValueIgnoreCase(record, "description", "details", "narration", "remarks", "memo", "note");
+        String description = plan.value(record, plan.description);
         if (description != null) {
             tx.setDescription(description.trim());
         }
 
         // Extract date
-        String dateStr = getValueIgnoreCase(record, "date", "transaction_date", "date_time", "timestamp");
+        String dateStr = plan.value(record, plan.date);
         if (dateStr != null) {
             tx.setDate(ParsingUtils.parseDate(dateStr));
         } else {
@@ -96,13 +127,13 @@ public class CSVParserService {
         }
 
         // Extract payment method
-        String paymentMethod = getValueIgnoreCase(record, "payment_method", "method", "payment_type", "mode");
+        String paymentMethod = plan.value(record, plan.paymentMethod);
         if (paymentMethod != null) {
             tx.setPaymentMethod(mappingService.extractPaymentMethod(paymentMethod));
         }
 
         // Extract category if available
-        String category = getValueIgnoreCase(record, "category", "cat", "transaction_category");
+        String category = plan.value(record, plan.category);
         if (category != null && !category.isEmpty()) {
             tx.setCategory(category.trim());
         }
@@ -110,23 +141,62 @@ public class CSVParserService {
         return tx;
     }
 
-    private String getValueIgnoreCase(CSVRecord record, String... possibleKeys) {
-        for (String key : possibleKeys) {
-            try {
-                String value = record.get(key);
+    /**
+     * Column indexes for each field, resolved once from the header. Each
+     * field keeps its candidate columns in priority order and skips the ones
+     * this file does not have, so rows are read by index with no name lookups.
+     */
+    private static final class ColumnPlan {
+        private final int[] amount;
+        private final int[] type;
+        private final int[] typeHint;
+        private final int[] description;
+        private final int[] date;
+        private final int[] paymentMethod;
+        private final int[] category;
+
+        private ColumnPlan(Map<String, Integer> headers) {
+            this.amount = resolve(headers, AMOUNT_COLUMNS);
+            this.type = resolve(headers, TYPE_COLUMNS);
+            this.typeHint = resolve(headers, TYPE_HINT_COLUMNS);
+            this.description = resolve(headers, DESCRIPTION_COLUMNS);
+            this.date = resolve(headers, DATE_COLUMNS);
+            this.paymentMethod = resolve(headers, PAYMENT_METHOD_COLUMNS);
+            this.category = resolve(headers, CATEGORY_COLUMNS);
+        }
+
+        static ColumnPlan of(Map<String, Integer> headerMap) {
+            Map<String, Integer> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            if (headerMap != null) {
+                headers.putAll(headerMap);
+            }
+            return new ColumnPlan(headers);
+        }
+
+        private static int[] resolve(Map<String, Integer> headers, String[] candidates) {
+            return Arrays.stream(candidates)
+                    .map(headers::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        /**
+         * First non-blank value among the columns, or null
+         */
+        String value(CSVRecord record, int[] columns) {
+            for (int column : columns) {
+                if (column >= record.size()) {
+                    // Same as a by-name lookup on a short row: the row is rejected
+                    throw new IllegalArgumentException("Record " + record.getRecordNumber()
+                            + " only has " + record.size() + " values");
+                }
+                String value = record.get(column);
                 if (value != null && !value.trim().isEmpty()) {
                     return value;
                 }
-            } catch (IllegalArgumentException e) {
-                // Try case-insensitive match
-                for (String header : record.getParser().getHeaderMap().keySet()) {
-                    if (header.equalsIgnoreCase(key)) {
-                        return record.get(header);
-                    }
-                }
             }
+            return null;
         }
-        return null;
     }
 }
-
@@ -0,0 +1,216 @@
+package com.UPIQ.PDFParserService.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the first date in a statement line.
+ * <p>
+ * The regex group that matched decides the format, and the day, month and
+ * year are read straight from the matched char offsets - no substrings,
+ * formatter lookups or exceptions. It runs on every line to maintain the
+ * sticky date, so outcomes are tracked in counters instead of being logged.
+ * <p>
+ * Resolution mirrors the formatters this replaced: numeric and text-month
+ * dates clamp an overlong day to the end of the month ("31/2/2025" is
+ * 28 Feb), two digit years are 20xx, month names must be the three letter
+ * abbreviation, and ISO dates are strict with two digit month and day.
+ */
+final class DateExtractor {
+
+    private static final Pattern DATE_PATTERN = Pattern.compile(
+            // Matches: dd/mm/yyyy, dd-mm-yyyy, dd.mm.yyyy, yyyy-mm-dd (with optional
+            // spaces)
+            "\\b(\\d{1,2}\\s*[/\\.-]\\s*\\d{1,2}\\s*[/\\.-]\\s*\\d{2,4})\\b|\\b(\\d{4}\\s*-\\s*\\d{1,2}\\s*-\\s*\\d{1,2})\\b|"
+                    +
+                    // Matches: dd Mon yyyy, dd Month yyyy (with optional commas)
+                    "(\\d{1,2}\\s+(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\s*[,\\s]+\\s*\\d{2,4})",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String MONTH_ABBREVIATIONS = "janfebmaraprmayjunjulaugsepoctnovdec";
+
+    private static final ThreadLocal<Matcher> DATE_MATCHER =
+            ThreadLocal.withInitial(() -> DATE_PATTERN.matcher(""));
+
+    private final LongAdder datesFound = new LongAdder();
+    private final LongAdder linesWithoutDate = new LongAdder();
+    private final LongAdder unparseableDates = new LongAdder();
+
+    LocalDateTime extract(CharSequence text) {
+        Matcher m = DATE_MATCHER.get().reset(text);
+        if (!m.find()) {
+            linesWithoutDate.increment();
+            return null;
+        }
+
+        LocalDate date;
+        if (m.start(3) >= 0) {
+            date = parseTextMonth(text, m.start(3), m.end(3));
+        } else if (m.start(2) >= 0) {
+            date = parseIso(text, m.start(2), m.end(2));
+        } else {
+            date = parseNumeric(text, m.start(1), m.end(1));
+        }
+
+        if (date == null) {
+            unparseableDates.increment();
+            return null;
+        }
+        datesFound.increment();
+        return date.atStartOfDay();
+    }
+
+    boolean containsDate(CharSequence text) {
+        return DATE_MATCHER.get().reset(text).find();
+    }
+
+    long getDatesFound() {
+        return datesFound.sum();
+    }
+
+    long getLinesWithoutDate() {
+        return linesWithoutDate.sum();
+    }
+
+    long getUnparseableDates() {
+        return unparseableDates.sum();
+    }
+
+    // d/M/yyyy or d/M/yy with any of / . - as separator
+    private static LocalDate parseNumeric(CharSequence s, int from, int to) {
+        int pos = skipToDigit(s, from, to);
+        int dayEnd = digitsEnd(s, pos, to);
+        int day = digitsValue(s, pos, dayEnd);
+
+        pos = skipToDigit(s, dayEnd, to);
+        int monthEnd = digitsEnd(s, pos, to);
+        int month = digitsValue(s, pos, monthEnd);
+
+        pos = skipToDigit(s, monthEnd, to);
+        int yearEnd = digitsEnd(s, pos, to);
+        return resolveSmart(day, month, s, pos, yearEnd);
+    }
+
+    // yyyy-MM-dd, spaces around the dashes allowed
+    private static LocalDate parseIso(CharSequence s, int from, int to) {
+        int pos = skipToDigit(s, from, to);
+        int yearEnd = digitsEnd(s, pos, to);
+        int year = digitsValue(s, pos, yearEnd);
+
+        pos = skipToDigit(s, yearEnd, to);
+        int monthEnd = digitsEnd(s, pos, to);
+        if (monthEnd - pos != 2) {
+            return null;
+        }
+        int month = digitsValue(s, pos, monthEnd);
+
+        pos = skipToDigit(s, monthEnd, to);
+        int dayEnd = digitsEnd(s, pos, to);
+        if (dayEnd - pos != 2) {
+            return null;
+        }
+        int day = digitsValue(s, pos, dayEnd);
+
+        if (month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    // d MMM yyyy, d MMM yy, optionally with a comma before the year
+    private static LocalDate parseTextMonth(CharSequence s, int from, int to) {
+        int pos = from;
+        int dayEnd = digitsEnd(s, pos, to);
+        int day = digitsValue(s, pos, dayEnd);
+
+        pos = dayEnd;
+        while (pos < to && !isLetter(s.charAt(pos))) {
+            pos++;
+        }
+        int monthStart = pos;
+        while (pos < to && isLetter(s.charAt(pos))) {
+            pos++;
+        }
+        int month = monthNumber(s, monthStart, pos);
+        if (month == 0) {
+            return null;
+        }
+
+        pos = skipToDigit(s, pos, to);
+        return resolveSmart(day, month, s, pos, digitsEnd(s, pos, to));
+    }
+
+    private static LocalDate resolveSmart(int day, int month, CharSequence s, int yearStart, int yearEnd) {
+        int year;
+        int yearDigits = yearEnd - yearStart;
+        if (yearDigits == 4) {
+            year = digitsValue(s, yearStart, yearEnd);
+            if (year == 0) {
+                return null;
+            }
+        } else if (yearDigits == 2) {
+            year = 2000 + digitsValue(s, yearStart, yearEnd);
+        } else {
+            return null;
+        }
+
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        return LocalDate.of(year, month, Math.min(day, Month.of(month).length(Year.isLeap(year))));
+    }
+
+    private static int monthNumber(CharSequence s, int from, int to) {
+        if (to - from != 3) {
+            return 0;
+        }
+        for (int i = 0; i < 12; i++) {
+            int offset = i * 3;
+            if (lower(s.charAt(from)) == MONTH_ABBREVIATIONS.charAt(offset)
+                    && lower(s.charAt(from + 1)) == MONTH_ABBREVIATIONS.charAt(offset + 1)
+                    && lower(s.charAt(from + 2)) == MONTH_ABBREVIATIONS.charAt(offset + 2)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int skipToDigit(CharSequence s, int pos, int to) {
+        while (pos < to && !isDigit(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int digitsEnd(CharSequence s, int pos, int to) {
+        while (pos < to && isDigit(s.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int digitsValue(CharSequence s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -0,0 +1,215 @@
+package com.UPIQ.PDFParserService.service;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the human readable description ("Paid to X", "Received from Y") of a
+ * transaction block.
+ * <p>
+ * The name patterns are compiled once and every thread reuses its own
+ * {@link Matcher}s, so a statement with thousands of transactions does not
+ * compile or allocate a regex per block. Name cleanup and the "looks like a
+ * bank account" checks are plain linear scans.
+ */
+final class DescriptionExtractor {
+
+    private static final Pattern DEBIT_NAME_PATTERN = Pattern.compile(
+            "(?:paid to|sent to|transfer to|payment to|pay to)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern PAID_BY_PATTERN = Pattern.compile(
+            "paid\\s+by\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:paid|to|upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern RECEIVED_FROM_PATTERN = Pattern.compile(
+            "(?:received from|credited from|credit from)\\s+([A-Za-z0-9\\s&.,'-]+?)(?:\\s*-|\\s+(?:upi|ref|id|amount|rs|inr|₹|\\d{12}|\\d{1,2}[/-]\\d{1,2})|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final String[] DEBIT_KEYWORDS = { "paid to", "sent to", "debited", "purchase", "payment to" };
+
+    // A name is cut at the first of these (case-insensitive), then at the first digit or dash
+    private static final String[] NAME_STOP_TOKENS = { "upi", "ref", "id", "rs", "inr", "₹" };
+
+    private static final String[] OWN_ACCOUNT_WORDS = { "bank", "account", "wallet", "your" };
+    private static final String[] ACCOUNT_WORDS = { "bank", "account", "wallet" };
+
+    private static final ThreadLocal<Matcher> DEBIT_NAME_MATCHER =
+            ThreadLocal.withInitial(() -> DEBIT_NAME_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> PAID_BY_MATCHER =
+            ThreadLocal.withInitial(() -> PAID_BY_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> RECEIVED_FROM_MATCHER =
+            ThreadLocal.withInitial(() -> RECEIVED_FROM_PATTERN.matcher(""));
+
+    /**
+     * @param block    the block's lines
+     * @param combined the block's lines joined with single spaces
+     * @param type     "DEBIT" or "CREDIT"
+     */
+    String extract(List<String> block, String combined, String type) {
+        combined = combined.trim();
+        String name;
+
+        if ("DEBIT".equals(type)) {
+            Matcher m = DEBIT_NAME_MATCHER.get().reset(combined);
+            if (m.find()) {
+                name = cleanName(m.group(1), "");
+                if (!name.isEmpty() && !containsAnyIgnoreCase(name, OWN_ACCOUNT_WORDS)) {
+                    return "Paid to " + name;
+                }
+            }
+
+            for (String line : block) {
+                String lineLower = line.toLowerCase();
+                for (String kw : DEBIT_KEYWORDS) {
+                    if (lineLower.contains(kw)) {
+                        String clean = cleanName(line, kw);
+                        if (!clean.isEmpty())
+                            return formatDesc(kw, clean);
+                    }
+                }
+            }
+        } else { // CREDIT
+            // 1. Try "Paid by" pattern first (most specific for income)
+            Matcher paidByMatcher = PAID_BY_MATCHER.get().reset(combined);
+            if (paidByMatcher.find()) {
+                name = cleanName(paidByMatcher.group(1), "");
+                if (!name.isEmpty() && !containsAnyIgnoreCase(name, OWN_ACCOUNT_WORDS)) {
+                    return "Received from " + name;
+                }
+            }
+
+            // 2. Try "Received from" / "Credited from" patterns
+            Matcher receivedMatcher = RECEIVED_FROM_MATCHER.get().reset(combined);
+            if (receivedMatcher.find()) {
+                name = cleanName(receivedMatcher.group(1), "");
+                if (!name.isEmpty() && !containsAnyIgnoreCase(name, OWN_ACCOUNT_WORDS)) {
+                    return "Received from " + name;
+                }
+            }
+
+            // 3. Fallback: Check each line for keywords
+            for (String line : block) {
+                String lineLower = line.toLowerCase();
+
+                // Check for "paid by"
+                if (lineLower.contains("paid by")) {
+                    String clean = cleanName(line, "paid by");
+                    if (!clean.isEmpty() && !containsAnyIgnoreCase(clean, ACCOUNT_WORDS))
+                        return "Received from " + clean;
+                }
+
+                // Check for "received from"
+                if (lineLower.contains("received from")) {
+                    String clean = cleanName(line, "received from");
+                    if (!clean.isEmpty() && !containsAnyIgnoreCase(clean, ACCOUNT_WORDS))
+                        return "Received from " + clean;
+                }
+
+                // Check for refund/cashback
+                if (lineLower.contains("refund") || lineLower.contains("cashback")) {
+                    String clean = cleanName(line, lineLower.contains("refund") ? "refund" : "cashback");
+                    if (!clean.isEmpty())
+                        return "Received from " + clean;
+                }
+            }
+
+            // 4. Last Resort: "Paid to {My Bank}" -> "Deposit to {My Bank}"
+            if (startsWithIgnoreCase(combined, "paid to") || startsWithIgnoreCase(combined, "payment to")) {
+                for (String line : block) {
+                    String lineLower = line.toLowerCase();
+                    if (lineLower.contains("paid to")) {
+                        String clean = cleanName(line, "paid to");
+                        if (!clean.isEmpty())
+                            return "Deposit to " + clean;
+                    }
+                    if (lineLower.contains("payment to")) {
+                        String clean = cleanName(line, "payment to");
+                        if (!clean.isEmpty())
+                            return "Deposit to " + clean;
+                    }
+                }
+            }
+        }
+
+        return "Transaction";
+    }
+
+    private String formatDesc(String keyword, String name) {
+        String cap = Character.toUpperCase(keyword.charAt(0)) + keyword.substring(1);
+        return cap + " " + name;
+    }
+
+    /**
+     * Takes the text after {@code keyword} and cuts it at the first reference
+     * token, digit or dash - a single scan in place of three replaceAll calls.
+     */
+    static String cleanName(String line, String keyword) {
+        int start = 0;
+        if (!keyword.isEmpty()) {
+            start = indexOfIgnoreCase(line, keyword, 0);
+            if (start == -1)
+                return line.trim();
+            start += keyword.length();
+        }
+
+        int end = line.length();
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '-' || c == '–' || startsWithAny(line, i, NAME_STOP_TOKENS)) {
+                end = i;
+                break;
+            }
+        }
+        return line.substring(start, end).trim();
+    }
+
+    private static boolean startsWithAny(String text, int offset, String[] tokens) {
+        for (String token : tokens) {
+            if (regionMatchesAscii(text, offset, token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAnyIgnoreCase(String text, String[] words) {
+        for (String word : words) {
+            if (indexOfIgnoreCase(text, word, 0) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithIgnoreCase(String text, String prefix) {
+        return regionMatchesAscii(text, 0, prefix);
+    }
+
+    private static int indexOfIgnoreCase(String text, String lowerNeedle, int from) {
+        for (int i = from, last = text.length() - lowerNeedle.length(); i <= last; i++) {
+            if (regionMatchesAscii(text, i, lowerNeedle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Case-insensitive for ASCII letters only, like a regex without UNICODE_CASE
+    private static boolean regionMatchesAscii(String text, int offset, String lowerToken) {
+        if (offset + lowerToken.length() > text.length()) {
+            return false;
+        }
+        for (int j = 0; j < lowerToken.length(); j++) {
+            char c = text.charAt(offset + j);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            if (c != lowerToken.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
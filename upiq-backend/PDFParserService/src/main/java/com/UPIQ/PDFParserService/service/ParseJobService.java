@@ -0,0 +1,174 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.config.ParserConfig;
+import com.UPIQ.PDFParserService.dto.ParseJobResponse;
+import com.UPIQ.PDFParserService.dto.ParseJobResultPage;
+import com.UPIQ.PDFParserService.dto.ParseJobStatus;
+import com.UPIQ.PDFParserService.dto.ParsingResponse;
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.UPIQ.PDFParserService.exceptions.ParseJobNotFoundException;
+import com.UPIQ.PDFParserService.exceptions.ParseJobNotReadyException;
+import com.UPIQ.PDFParserService.exceptions.ParserBusyException;
+import com.UPIQ.PDFParserService.exceptions.ParsingException;
+import com.UPIQ.PDFParserService.utils.InMemoryMultipartFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs uploads through {@link ParserService} in the background.
+ * <p>
+ * Jobs are queued on the bounded {@code parseJobExecutor}; when its queue is
+ * full new uploads are rejected with {@link ParserBusyException} instead of
+ * piling up behind the gateway timeout. Finished jobs are kept in memory for
+ * the configured retention period and swept on a timer, so they are released
+ * even when no further uploads arrive.
+ */
+@Slf4j
+@Service
+public class ParseJobService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ParserService parserService;
+    private final FileValidationService validationService;
+    private final ParserConfig parserConfig;
+    private final ExecutorService jobExecutor;
+    private final Map<String, ParseJob> jobs = new ConcurrentHashMap<>();
+
+    public ParseJobService(ParserService parserService, FileValidationService validationService,
+            ParserConfig parserConfig, @Qualifier("parseJobExecutor") ExecutorService jobExecutor) {
+        this.parserService = parserService;
+        this.validationService = validationService;
+        this.parserConfig = parserConfig;
+        this.jobExecutor = jobExecutor;
+    }
+
+    public ParseJobResponse submit(MultipartFile file, Long userId) {
+        // Reject bad uploads synchronously rather than as a failed job
+        validationService.validateFile(file);
+        purgeExpiredJobs();
+
+        InMemoryMultipartFile upload;
+        try {
+            upload = InMemoryMultipartFile.copyOf(file);
+        } catch (IOException e) {
+            throw new ParsingException("Error reading upload: " + e.getMessage(), e);
+        }
+
+        ParseJob job = new ParseJob(UUID.randomUUID().toString(), userId, upload);
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("Parse queue full, rejecting upload {} for userId: {}", file.getOriginalFilename(), userId);
+            throw new ParserBusyException("Parser is busy, please retry shortly");
+        }
+        log.info("Queued parse job {} for file: {}", job.id, file.getOriginalFilename());
+        return toResponse(job);
+    }
+
+    public ParseJobResponse getStatus(String jobId, Long userId) {
+        return toResponse(findJob(jobId, userId));
+    }
+
+    public ParseJobResultPage getResults(String jobId, Long userId, int page, int size) {
+        ParseJob job = findJob(jobId, userId);
+        if (job.status != ParseJobStatus.COMPLETED) {
+            throw new ParseJobNotReadyException("Parse job " + jobId + " is " + job.status);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<TransactionRequest> all = job.result.getTransactions();
+        int from = (int) Math.min((long) pageNumber * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+
+        return ParseJobResultPage.builder()
+                .jobId(jobId)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalElements(all.size())
+                .totalPages((all.size() + pageSize - 1) / pageSize)
+                .transactions(all.subList(from, to))
+                .errors(pageNumber == 0 ? job.result.getErrors() : Collections.emptyList())
+                .build();
+    }
+
+    private void run(ParseJob job) {
+        job.status = ParseJobStatus.RUNNING;
+        try {
+            job.result = parserService.parseFile(job.upload);
+        } catch (Exception e) {
+            log.error("Parse job {} failed: {}", job.id, e.getMessage());
+            job.error = e.getMessage();
+        }
+        job.upload = null; // release the file bytes as soon as they are parsed
+        job.completedAt = LocalDateTime.now();
+        // Published last so readers that see a final status also see its result
+        job.status = job.result != null ? ParseJobStatus.COMPLETED : ParseJobStatus.FAILED;
+    }
+
+    private ParseJob findJob(String jobId, Long userId) {
+        ParseJob job = jobs.get(jobId);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || !Objects.equals(job.userId, userId)) {
+            throw new ParseJobNotFoundException("Parse job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${app.parser.jobs.purge-interval:PT1M}")
+    void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now()
+                .minus(Duration.ofMinutes(parserConfig.getJobRetentionMinutes()));
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private ParseJobResponse toResponse(ParseJob job) {
+        ParsingResponse result = job.result;
+        return ParseJobResponse.builder()
+                .jobId(job.id)
+                .status(job.status)
+                .fileName(job.fileName)
+                .submittedAt(job.submittedAt)
+                .completedAt(job.completedAt)
+                .totalTransactions(result != null ? result.getTransactions().size() : null)
+                .message(result != null ? result.getMessage() : job.error)
+                .build();
+    }
+
+    private static final class ParseJob {
+        private final String id;
+        private final Long userId;
+        private final String fileName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile InMemoryMultipartFile upload;
+        private volatile ParseJobStatus status = ParseJobStatus.QUEUED;
+        private volatile ParsingResponse result;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        private ParseJob(String id, Long userId, InMemoryMultipartFile upload) {
+            this.id = id;
+            this.userId = userId;
+            this.fileName = upload.getOriginalFilename();
+            this.upload = upload;
+        }
+    }
+}
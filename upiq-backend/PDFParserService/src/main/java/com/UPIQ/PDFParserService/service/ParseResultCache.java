@@ -0,0 +1,267 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.config.ParserConfig;
+import com.UPIQ.PDFParserService.dto.ParsingResponse;
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Parse results keyed by the SHA-256 of the uploaded bytes and
+ * {@link #PARSER_VERSION}.
+ * <p>
+ * The memory tier is an access-ordered LRU bounded by
+ * {@code app.parser.cache.max-entries}. When {@code app.parser.cache.directory}
+ * is set, entries are also written there as JSON so they survive restarts.
+ * Both tiers expire entries after {@code app.parser.cache.ttl-minutes}.
+ */
+@Slf4j
+@Component
+public class ParseResultCache {
+
+    /**
+     * Part of every key. Bump it whenever a parser change alters the output
+     * for the same file, so stale results are never served.
+     */
+    static final String PARSER_VERSION = "7";
+
+    private static final String FILE_SUFFIX = ".json";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public ParseResultCache(ParserConfig parserConfig, ObjectMapper objectMapper) {
+        this(parserConfig, objectMapper, Clock.systemUTC());
+    }
+
+    ParseResultCache(ParserConfig parserConfig, ObjectMapper objectMapper, Clock clock) {
+        this.enabled = parserConfig.isResultCacheEnabled();
+        this.maxEntries = Math.max(1, parserConfig.getResultCacheMaxEntries());
+        this.ttl = Duration.ofMinutes(parserConfig.getResultCacheTtlMinutes());
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        String dir = parserConfig.getResultCacheDirectory();
+        this.directory = enabled && dir != null && !dir.isBlank() ? Paths.get(dir) : null;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                purgeExpiredFiles();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot use parse cache directory " + directory, e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Hashes the upload in a single streaming pass
+     */
+    public String key(MultipartFile file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest()) + "-v" + PARSER_VERSION;
+    }
+
+    /**
+     * @return a copy of the cached response, or null on a miss
+     */
+    public ParsingResponse get(String key) {
+        Instant now = clock.instant();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            memoryHits.increment();
+            return copyOf(entry.response);
+        }
+
+        ParsingResponse fromDisk = readFromDisk(key, now);
+        if (fromDisk != null) {
+            diskHits.increment();
+            synchronized (entries) {
+                entries.put(key, new Entry(fromDisk, now.plus(ttl)));
+            }
+            return copyOf(fromDisk);
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, ParsingResponse response) {
+        Instant now = clock.instant();
+        ParsingResponse stored = copyOf(response);
+        synchronized (entries) {
+            entries.put(key, new Entry(stored, now.plus(ttl)));
+        }
+        writeToDisk(key, stored);
+        log.debug("Parse cache: {} memory hits, {} disk hits, {} misses",
+                memoryHits.sum(), diskHits.sum(), misses.sum());
+    }
+
+    long getMemoryHits() {
+        return memoryHits.sum();
+    }
+
+    long getDiskHits() {
+        return diskHits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    void clearMemory() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private ParsingResponse readFromDisk(String key, Instant now) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            if (Files.getLastModifiedTime(file).toInstant().plus(ttl).isBefore(now)) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return objectMapper.readValue(file.toFile(), ParsingResponse.class);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable parse cache entry {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, ParsingResponse response) {
+        if (directory == null) {
+            return;
+        }
+        Path target = directory.resolve(key + FILE_SUFFIX);
+        Path temp = null;
+        try {
+            // Write then rename, so a crash never leaves a half written entry behind
+            temp = Files.createTempFile(directory, key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), response);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write parse cache entry {}: {}", target, e.getMessage());
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    private void purgeExpiredFiles() throws IOException {
+        Instant cutoff = clock.instant().minus(ttl);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(f -> f.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .forEach(f -> {
+                        try {
+                            if (Files.getLastModifiedTime(f).toInstant().isBefore(cutoff)) {
+                                Files.deleteIfExists(f);
+                            }
+                        } catch (IOException e) {
+                            log.warn("Could not purge parse cache entry {}: {}", f, e.getMessage());
+                        }
+                    });
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // Best effort; the entry is simply re-parsed next time
+        }
+    }
+
+    // Callers get their own lists and transactions, so filtering, paging or editing a
+    // result never touches the cached entry (Money and the other fields are immutable)
+    private static ParsingResponse copyOf(ParsingResponse response) {
+        List<TransactionRequest> transactions = new ArrayList<>(response.getTransactions().size());
+        for (TransactionRequest transaction : response.getTransactions()) {
+            transactions.add(transaction.toBuilder().build());
+        }
+        return ParsingResponse.builder()
+                .totalTransactions(response.getTotalTransactions())
+                .successfulParses(response.getSuccessfulParses())
+                .failedParses(response.getFailedParses())
+                .transactions(transactions)
+                .errors(new ArrayList<>(response.getErrors()))
+                .message(response.getMessage())
+                .build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(ParsingResponse response, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,11 +20,23 @@ public class ParserService {
     private final FileValidationService validationService;
     private final AIPDFParserService pdfParserService;
     private final CSVParserService csvParserService;
+    private final ParseResultCache resultCache;
 
     public ParsingResponse parseFile(MultipartFile file) {
         // Validate file first
         validationService.validateFile(file);
 
+        // Byte-identical re-uploads are answered from the cache
+        String cacheKey = cacheKey(file);
+        if (cacheKey != null) {
+            ParsingResponse cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                log.info("Serving cached parse result for file: {}", file.getOriginalFilename());
+                cached.setMessage(successMessage(cached.getSuccessfulParses(), file));
+                return cached;
+            }
+        }
+
         List<TransactionRequest> transactions;
         List<String> errors = new ArrayList<>();
         int successfulParses = 0;
@@ -46,7 +59,7 @@ public class ParserService {
 
             // Count successful and failed parses
             for (TransactionRequest tx : transactions) {
-                if (tx != null && tx.getAmount() != null && tx.getAmount() > 0) {
+                if (tx != null && tx.getAmount() != null && tx.getAmount().isPositive()) {
                     successfulParses++;
                 } else {
                     failedParses++;
@@ -55,7 +68,7 @@ public class ParserService {
             }
 
             // Filter out invalid transactions
-            transactions.removeIf(tx -> tx == null || tx.getAmount() == null || tx.getAmount() <= 0);
+            transactions.removeIf(tx -> tx == null || tx.getAmount() == null || !tx.getAmount().isPositive());
 
         } catch (ParsingException e) {
             log.error("Parsing error: {}", e.getMessage());
@@ -65,20 +78,39 @@ public class ParserService {
             throw new ParsingException("Failed to parse file: " + e.getMessage(), e);
         }
 
-        String message = String.format(
-                "Successfully parsed %d transactions from %s",
-                successfulParses,
-                file.getOriginalFilename()
-        );
-
-        return ParsingResponse.builder()
+        ParsingResponse response = ParsingResponse.builder()
                 .totalTransactions(totalTransactions)
                 .successfulParses(successfulParses)
                 .failedParses(failedParses)
                 .transactions(transactions)
                 .errors(errors)
-                .message(message)
+                .message(successMessage(successfulParses, file))
                 .build();
+
+        if (cacheKey != null) {
+            resultCache.put(cacheKey, response);
+        }
+        return response;
+    }
+
+    private String cacheKey(MultipartFile file) {
+        if (!resultCache.isEnabled()) {
+            return null;
+        }
+        try {
+            return resultCache.key(file);
+        } catch (IOException e) {
+            log.warn("Could not hash {}, parsing without cache: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String successMessage(int successfulParses, MultipartFile file) {
+        return String.format(
+                "Successfully parsed %d transactions from %s",
+                successfulParses,
+                file.getOriginalFilename()
+        );
     }
 }
 
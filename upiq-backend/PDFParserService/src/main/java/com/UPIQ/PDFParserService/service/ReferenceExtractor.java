@@ -0,0 +1,57 @@
+package com.UPIQ.PDFParserService.service;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls the payment reference (UTR, UPI ref, transaction id) out of a
+ * transaction block.
+ * <p>
+ * The 12 digit UPI reference is the same in every app's and bank's statement
+ * for one payment, so it wins over app specific ids (PhonePe's "T..." ids)
+ * when a block carries both. The Transaction Service uses it to recognise a
+ * statement that is imported twice.
+ */
+final class ReferenceExtractor {
+
+    private static final Pattern REFERENCE_PATTERN = Pattern.compile(
+            "(?:utr(?:\\s*no)?|upi\\s+ref(?:erence)?(?:\\s*no)?|upi\\s+transaction\\s+id|transaction\\s+id"
+                    + "|ref(?:erence)?\\s*(?:no|id)|order\\s+id|upi/(?:cr|dr))[\\s.:#/-]*([A-Za-z0-9]{8,})",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final int UPI_REFERENCE_LENGTH = 12;
+
+    private static final ThreadLocal<Matcher> REFERENCE_MATCHER =
+            ThreadLocal.withInitial(() -> REFERENCE_PATTERN.matcher(""));
+
+    /**
+     * @return the reference in upper case, or null if the block has none
+     */
+    String extract(CharSequence combined) {
+        Matcher m = REFERENCE_MATCHER.get().reset(combined);
+        String first = null;
+        while (m.find()) {
+            String value = m.group(1);
+            if (isUpiReference(value)) {
+                return value;
+            }
+            if (first == null) {
+                first = value;
+            }
+        }
+        return first != null ? first.toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static boolean isUpiReference(String value) {
+        if (value.length() != UPI_REFERENCE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,9 @@
 package com.UPIQ.PDFParserService.service;
 
 import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.UPIQ.PDFParserService.utils.KeywordHits;
+import com.UPIQ.PDFParserService.utils.KeywordMatcher;
+import com.UPIQ.PDFParserService.utils.Money;
 import com.UPIQ.PDFParserService.utils.ParsingUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,11 +13,13 @@ import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.UPIQ.PDFParserService.utils.TransactionKeyword.*;
+
 @Slf4j
 @Service
 public class TransactionMappingService {
 
-    private static final double MAX_REASONABLE_AMOUNT = 10_000_000d; // 1 crore
+    private static final long MAX_REASONABLE_PAISE = 1_000_000_000L; // 1 crore
 
     private static final String TYPE_CREDIT = "credit";
     private static final String TYPE_DEBIT = "debit";
@@ -36,21 +41,50 @@ public class TransactionMappingService {
             "\\b(\\d{1,2})[/-](\\d{1,2})[/-](\\d{2,4})\\b"
     );
 
-    private static final String[] IDENTIFIER_KEYWORDS = {
-            "transaction id", "upi txn", "upi transaction id", "utr",
-            "reference no", "ref no", "reference id", "upi reference", "order id"
-    };
+    private static final long IDENTIFIER_KEYWORDS = KeywordMatcher.mask(
+            TRANSACTION_ID, UPI_TXN, UPI_TRANSACTION_ID, UTR,
+            REFERENCE_NO, REF_NO, REFERENCE_ID, UPI_REFERENCE, ORDER_ID
+    );
+
+    private static final long CREDIT_TYPE_KEYWORDS = KeywordMatcher.mask(
+            CREDIT, CR, DEPOSIT, INCOME, SALARY, REFUND,
+            PAID_TO_YOU, RECEIVED_FROM, SENT_TO_YOUR_BANK, TO_YOUR_BANK
+    );
+
+    private static final long DEBIT_TYPE_KEYWORDS = KeywordMatcher.mask(
+            DEBIT, DR, WITHDRAWAL, PAYMENT, PAID_TO
+    );
+
+    // "refunded" is covered by REFUND
+    private static final long BLOCK_CREDIT_KEYWORDS = KeywordMatcher.mask(
+            RECEIVED_FROM, ADDED_TO, CREDITED, REFUND, CASHBACK, PAID_TO_YOU,
+            SENT_TO_YOUR_BANK, TO_YOUR_BANK, RECEIVED_IN_BANK
+    );
+
+    private static final long BLOCK_DEBIT_KEYWORDS = KeywordMatcher.mask(
+            PAID_TO, DEBITED_FROM, SENT_TO, PAYMENT_TO, MERCHANT_PAYMENT
+    );
+
+    private static final long UPI_KEYWORDS = KeywordMatcher.mask(UPI, UNIFIED_PAYMENT, GPAY, GOOGLE_PAY);
+
+    // "debit card" / "credit card" are covered by CARD
+    private static final long CARD_KEYWORDS = KeywordMatcher.mask(CARD, VISA, MASTERCARD);
+
+    private static final long NET_BANKING_KEYWORDS = KeywordMatcher.mask(NET_BANKING, NEFT, RTGS, IMPS);
 
     private static final Pattern UPI_HANDLE_PATTERN = Pattern.compile("[A-Za-z0-9\\.\\-]+@[a-z]+");
 
+    private final ReferenceExtractor referenceExtractor = new ReferenceExtractor();
+
     public TransactionRequest mapTransactionBlock(List<String> blockLines) {
         if (blockLines == null || blockLines.isEmpty()) {
             return null;
         }
 
         String combined = String.join(" ", blockLines);
+        KeywordHits hits = KeywordMatcher.scan(combined);
 
-        double amount = extractAmountFromLines(blockLines);
+        long amount = extractAmountFromLines(blockLines);
         if (!ParsingUtils.isValidAmount(amount)) {
             amount = extractAmount(combined);
         }
@@ -60,24 +94,28 @@ public class TransactionMappingService {
         }
 
         TransactionRequest tx = new TransactionRequest();
-        tx.setAmount(amount);
-        tx.setType(determineTypeFromBlock(blockLines, combined));
+        tx.setAmount(Money.ofPaise(amount));
+        tx.setType(determineTypeFromBlock(blockLines, hits));
         tx.setDescription(extractDescriptionFromBlock(blockLines));
         tx.setDate(extractDate(combined));
-        tx.setPaymentMethod(extractPaymentMethod(combined));
+        tx.setPaymentMethod(extractPaymentMethod(combined, hits));
+        tx.setReference(referenceExtractor.extract(combined));
 
         return tx;
     }
 
-    public double extractAmountFromLines(List<String> blockLines) {
+    /**
+     * @return the first plausible amount in paise, or 0 if there is none
+     */
+    public long extractAmountFromLines(List<String> blockLines) {
         if (blockLines == null) {
-            return 0.0;
+            return 0L;
         }
 
         for (String line : blockLines) {
             if (shouldSkipAmountFromLine(line)) continue;
 
-            double amount = extractAmountFromCurrencyLine(line);
+            long amount = extractAmountFromCurrencyLine(line);
             if (ParsingUtils.isValidAmount(amount)) {
                 return amount;
             }
@@ -86,78 +124,68 @@ public class TransactionMappingService {
         for (String line : blockLines) {
             if (shouldSkipAmountFromLine(line)) continue;
 
-            double amount = extractAmount(line);
+            long amount = extractAmount(line);
             if (ParsingUtils.isValidAmount(amount)) {
                 return amount;
             }
         }
 
-        return 0.0;
+        return 0L;
     }
 
-    private double extractAmountFromCurrencyLine(String text) {
-        if (text == null) return 0.0;
+    private long extractAmountFromCurrencyLine(String text) {
+        if (text == null) return 0L;
 
         Matcher matcher = CURRENCY_AMOUNT_PATTERN.matcher(text);
         if (matcher.find()) {
-            return parseAmount(matcher.group(1));
+            return parseAmount(text, matcher.start(1), matcher.end(1));
         }
-        return 0.0;
+        return 0L;
     }
 
-    public Double extractAmount(String text) {
+    /**
+     * @return the amount in paise, or 0 if the text holds no plausible amount
+     */
+    public long extractAmount(String text) {
         if (text == null || text.isEmpty()) {
-            return 0.0;
+            return 0L;
         }
 
         if (shouldSkipAmountFromLine(text)) {
-            return 0.0;
+            return 0L;
         }
 
-        try {
-            Matcher currencyMatcher = CURRENCY_AMOUNT_PATTERN.matcher(text);
-            if (currencyMatcher.find()) {
-                return parseAmount(currencyMatcher.group(1));
-            }
+        Matcher currencyMatcher = CURRENCY_AMOUNT_PATTERN.matcher(text);
+        if (currencyMatcher.find()) {
+            return parseAmount(text, currencyMatcher.start(1), currencyMatcher.end(1));
+        }
 
-            Matcher decimalMatcher = DECIMAL_AMOUNT_PATTERN.matcher(text);
-            if (decimalMatcher.find()) {
-                return parseAmount(decimalMatcher.group(1));
-            }
+        Matcher decimalMatcher = DECIMAL_AMOUNT_PATTERN.matcher(text);
+        if (decimalMatcher.find()) {
+            return parseAmount(text, decimalMatcher.start(1), decimalMatcher.end(1));
+        }
 
-            Matcher integerMatcher = SMALL_INTEGER_AMOUNT_PATTERN.matcher(text);
-            while (integerMatcher.find()) {
-                double value = parseAmount(integerMatcher.group(1));
-                if (value > 0 && value <= MAX_REASONABLE_AMOUNT) {
-                    return value;
-                }
+        Matcher integerMatcher = SMALL_INTEGER_AMOUNT_PATTERN.matcher(text);
+        while (integerMatcher.find()) {
+            long value = parseAmount(text, integerMatcher.start(1), integerMatcher.end(1));
+            if (value > 0) {
+                return value;
             }
-
-        } catch (Exception e) {
-            log.debug("Could not extract amount from: {}", text);
         }
 
-        return 0.0;
+        return 0L;
     }
 
     public String extractType(String text) {
         if (text == null) return TYPE_DEBIT;
 
-        String lower = text.toLowerCase();
-
-        if (lower.contains("credit") || lower.contains("cr") ||
-                lower.contains("deposit") || lower.contains("income") ||
-                lower.contains("salary") || lower.contains("refund") ||
-                lower.contains("paid to you") || lower.contains("received from") ||
-                lower.contains("sent to your bank") || lower.contains("to your bank")) {
+        KeywordHits hits = KeywordMatcher.scan(text);
 
+        if (hits.hasAny(CREDIT_TYPE_KEYWORDS)) {
             return TYPE_CREDIT;
         }
 
-        if (lower.contains("debit") || lower.contains("dr") ||
-                lower.contains("withdrawal") || lower.contains("payment") ||
-                lower.contains("paid to")) {
-
+        if (hits.hasAny(DEBIT_TYPE_KEYWORDS)) {
             return TYPE_DEBIT;
         }
 
@@ -209,40 +237,31 @@ public class TransactionMappingService {
     public String extractPaymentMethod(String text) {
         if (text == null) return "Cash";
 
-        String lower = text.toLowerCase();
+        return extractPaymentMethod(text, KeywordMatcher.scan(text));
+    }
 
-        if (lower.contains("upi") || lower.contains("unified payment") ||
-                lower.contains("gpay") || lower.contains("google pay") ||
-                containsUpiHandle(text)) {
+    private String extractPaymentMethod(String text, KeywordHits hits) {
+        if (hits.hasAny(UPI_KEYWORDS) || containsUpiHandle(text)) {
             return "UPI";
         }
 
-        if (lower.contains("card") || lower.contains("visa") ||
-                lower.contains("mastercard") || lower.contains("debit card") ||
-                lower.contains("credit card")) {
+        if (hits.hasAny(CARD_KEYWORDS)) {
             return "Card";
         }
 
-        if (lower.contains("net banking") || lower.contains("neft") ||
-                lower.contains("rtgs") || lower.contains("imps")) {
+        if (hits.hasAny(NET_BANKING_KEYWORDS)) {
             return "Net Banking";
         }
 
         return "Cash";
     }
 
-    private String determineTypeFromBlock(List<String> lines, String combined) {
-        String lower = combined.toLowerCase();
-
-        if (containsAny(lower,
-                "received from", "added to", "credited", "refund", "refunded",
-                "cashback", "paid to you", "sent to your bank", "to your bank",
-                "received in bank")) {
+    private String determineTypeFromBlock(List<String> lines, KeywordHits hits) {
+        if (hits.hasAny(BLOCK_CREDIT_KEYWORDS)) {
             return TYPE_CREDIT;
         }
 
-        if (containsAny(lower,
-                "paid to", "debited from", "sent to", "payment to", "merchant payment")) {
+        if (hits.hasAny(BLOCK_DEBIT_KEYWORDS)) {
             return TYPE_DEBIT;
         }
 
@@ -320,22 +339,10 @@ public class TransactionMappingService {
                 : description.toString();
     }
 
-    private boolean containsAny(String text, String... keywords) {
-        for (String keyword : keywords) {
-            if (text.contains(keyword)) return true;
-        }
-        return false;
-    }
-
     private boolean shouldSkipAmountFromLine(String text) {
         if (text == null) return true;
 
-        String lower = text.toLowerCase();
-
-        for (String keyword : IDENTIFIER_KEYWORDS) {
-            if (lower.contains(keyword)) return true;
-        }
-        return false;
+        return KeywordMatcher.scan(text).hasAny(IDENTIFIER_KEYWORDS);
     }
 
     private boolean containsUpiHandle(String text) {
@@ -357,16 +364,11 @@ public class TransactionMappingService {
         return cleaned.isEmpty() ? null : cleaned;
     }
 
-    private double parseAmount(String candidate) {
-        if (candidate == null || candidate.isBlank()) return 0.0;
-
-        try {
-            double value = Double.parseDouble(candidate.replace(",", ""));
-            if (value <= 0 || value > MAX_REASONABLE_AMOUNT) return 0.0;
-            return value;
-        } catch (NumberFormatException ex) {
-            return 0.0;
-        }
+    // Parses the matched span in place; 0 when it is not a plausible amount
+    private long parseAmount(String text, int start, int end) {
+        long paise = Money.parsePaise(text, start, end);
+        if (paise <= 0 || paise > MAX_REASONABLE_PAISE) return 0L;
+        return paise;
     }
 }
 
@@ -0,0 +1,29 @@
+package com.UPIQ.PDFParserService.utils;
+
+/**
+ * Result of a {@link KeywordMatcher} scan: the set of keywords that occur
+ * anywhere in the text, as a bitmask over {@link TransactionKeyword} ordinals.
+ */
+public final class KeywordHits {
+
+    private final long mask;
+
+    KeywordHits(long mask) {
+        this.mask = mask;
+    }
+
+    public boolean has(TransactionKeyword keyword) {
+        return (mask & (1L << keyword.ordinal())) != 0;
+    }
+
+    /**
+     * @param keywords mask built with {@link KeywordMatcher#mask}
+     */
+    public boolean hasAny(long keywords) {
+        return (mask & keywords) != 0;
+    }
+
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+}
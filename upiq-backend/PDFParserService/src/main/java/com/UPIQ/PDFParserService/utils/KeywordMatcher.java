@@ -0,0 +1,118 @@
+package com.UPIQ.PDFParserService.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over all {@link TransactionKeyword}s.
+ * <p>
+ * A single left-to-right pass over the text reports every keyword it contains,
+ * folding ASCII case on the fly so callers never need to allocate a lowercased
+ * copy. Matching is plain substring containment, i.e. the same semantics as
+ * {@code text.toLowerCase().contains(keyword)}. The automaton is immutable and
+ * safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    // Keywords are ASCII; any other character leads back to the root state
+    private static final int ALPHABET = 128;
+
+    private static final int[] TRANSITIONS;
+    private static final long[] OUTPUTS;
+
+    static {
+        TransactionKeyword[] keywords = TransactionKeyword.values();
+        if (keywords.length > Long.SIZE) {
+            throw new IllegalStateException("KeywordHits supports at most 64 keywords");
+        }
+
+        // 1. Trie of all phrases
+        List<int[]> trie = new ArrayList<>();
+        List<Long> outputs = new ArrayList<>();
+        trie.add(newNode());
+        outputs.add(0L);
+        for (TransactionKeyword keyword : keywords) {
+            int state = 0;
+            for (char c : keyword.getPhrase().toCharArray()) {
+                if (c >= ALPHABET) {
+                    throw new IllegalStateException("Keyword is not ASCII: " + keyword.getPhrase());
+                }
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newNode());
+                    outputs.add(0L);
+                }
+                state = trie.get(state)[c];
+            }
+            outputs.set(state, outputs.get(state) | (1L << keyword.ordinal()));
+        }
+
+        // 2. Breadth-first failure links, folded into a complete transition table
+        int states = trie.size();
+        int[] transitions = new int[states * ALPHABET];
+        long[] out = new long[states];
+        int[] fail = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = trie.get(0)[c];
+            transitions[c] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+        out[0] = outputs.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out[state] = outputs.get(state) | out[fail[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = trie.get(state)[c];
+                if (next > 0) {
+                    fail[next] = transitions[fail[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + c] = transitions[fail[state] * ALPHABET + c];
+                }
+            }
+        }
+        TRANSITIONS = transitions;
+        OUTPUTS = out;
+    }
+
+    private KeywordMatcher() {
+    }
+
+    public static KeywordHits scan(CharSequence text) {
+        if (text == null) {
+            return new KeywordHits(0L);
+        }
+        long hits = 0L;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            state = c < ALPHABET ? TRANSITIONS[state * ALPHABET + c] : 0;
+            hits |= OUTPUTS[state];
+        }
+        return new KeywordHits(hits);
+    }
+
+    public static long mask(TransactionKeyword... keywords) {
+        long mask = 0L;
+        for (TransactionKeyword keyword : keywords) {
+            mask |= 1L << keyword.ordinal();
+        }
+        return mask;
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[ALPHABET];
+        Arrays.fill(node, -1);
+        return node;
+    }
+}
@@ -0,0 +1,151 @@
+package com.UPIQ.PDFParserService.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact rupee amount held as a whole number of paise.
+ * <p>
+ * On the wire it is still a plain decimal number of rupees ({@code 1234.50}),
+ * so API clients are unaffected. {@link #parsePaise} reads amounts straight
+ * out of statement text, skipping Indian-style grouping commas in place, with
+ * no intermediate strings and no floating point.
+ */
+public final class Money implements Comparable<Money> {
+
+    /** Returned by {@link #parsePaise} when the text is not a number */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    public static final Money ZERO = new Money(0L);
+
+    // Keeps the accumulated value far away from long overflow
+    private static final int MAX_INTEGER_DIGITS = 15;
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0L ? ZERO : new Money(paise);
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money ofRupees(BigDecimal rupees) {
+        if (rupees == null) {
+            return null;
+        }
+        return ofPaise(rupees.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parses "1,23,456.78" style amounts. Commas are skipped wherever they
+     * appear; a third fraction digit rounds half up and any further ones are
+     * ignored.
+     *
+     * @return the amount in paise, or {@link #INVALID}
+     */
+    public static long parsePaise(CharSequence text, int from, int to) {
+        return parse(text, from, to, false);
+    }
+
+    public static long parsePaise(CharSequence text) {
+        return text == null ? INVALID : parse(text, 0, text.length(), false);
+    }
+
+    /**
+     * Like {@link #parsePaise(CharSequence)} but ignores every character that is
+     * not a digit, '.' or '-', for free-form spreadsheet cells like "₹ 1,200 Dr".
+     */
+    public static long parsePaiseLenient(CharSequence text) {
+        return text == null ? INVALID : parse(text, 0, text.length(), true);
+    }
+
+    private static long parse(CharSequence text, int from, int to, boolean lenient) {
+        boolean negative = false;
+        boolean seenSign = false;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        int integerDigits = 0;
+        int fractionDigits = 0;
+        long rupees = 0L;
+        long fraction = 0L;
+        boolean roundUp = false;
+
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                if (!seenPoint) {
+                    if (++integerDigits > MAX_INTEGER_DIGITS) {
+                        return INVALID;
+                    }
+                    rupees = rupees * 10 + (c - '0');
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (fractionDigits++ == 2) {
+                    roundUp = c >= '5';
+                }
+            } else if (c == '.') {
+                if (seenPoint) {
+                    return INVALID;
+                }
+                seenPoint = true;
+            } else if ((c == '-' || (c == '+' && !lenient)) && !seenSign && !seenDigit && !seenPoint) {
+                negative = c == '-';
+                seenSign = true;
+            } else if (c != ',' && !lenient) {
+                return INVALID;
+            } else if (c == '-') {
+                // A dash after the number starts (e.g. "12-05") is not an amount
+                return INVALID;
+            }
+        }
+        if (!seenDigit) {
+            return INVALID;
+        }
+        if (fractionDigits == 1) {
+            fraction *= 10;
+        }
+        long paise = rupees * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -paise : paise;
+    }
+
+    public long getPaise() {
+        return paise;
+    }
+
+    public boolean isPositive() {
+        return paise > 0;
+    }
+
+    @JsonValue
+    public BigDecimal toRupees() {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && paise == other.paise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return toRupees().toPlainString();
+    }
+}
@@ -59,8 +59,8 @@ public class ParsingUtils {
         return LocalDateTime.now();
     }
 
-    public static boolean isValidAmount(Double amount) {
-        return amount != null && amount > 0;
+    public static boolean isValidAmount(long paise) {
+        return paise > 0;
     }
 }
 
@@ -0,0 +1,83 @@
+package com.UPIQ.PDFParserService.utils;
+
+/**
+ * Every keyword the statement parsers look for. All of them are recognised in
+ * a single pass by {@link KeywordMatcher}; phrases must be lowercase ASCII.
+ */
+public enum TransactionKeyword {
+
+    // Statement furniture that never belongs to a transaction
+    OPENING_BALANCE("opening balance"),
+    CLOSING_BALANCE("closing balance"),
+    DATE_AND_TIME("date & time"),
+    PAGE("page"),
+    STATEMENT("statement"),
+
+    // Block triggers and direction
+    PAID_TO("paid to"),
+    PAID_TO_YOU("paid to you"),
+    PAID_TO_AND("paid to and"),
+    RECEIVED_FROM("received from"),
+    RECEIVED_FROM_AND("received from and"),
+    DEBITED("debited"),
+    DEBITED_FROM("debited from"),
+    CREDITED("credited"),
+    CREDITED_TO("credited to"),
+    SENT_TO("sent to"),
+    PURCHASE("purchase"),
+    PAYMENT_TO("payment to"),
+    REFUND("refund"),
+    CASHBACK("cashback"),
+    ADDED_TO("added to"),
+    SENT_TO_YOUR_BANK("sent to your bank"),
+    TO_YOUR_BANK("to your bank"),
+    RECEIVED_IN_BANK("received in bank"),
+    MERCHANT_PAYMENT("merchant payment"),
+
+    // Generic type hints (CSV type columns, loose narrations)
+    CREDIT("credit"),
+    CR("cr"),
+    DEPOSIT("deposit"),
+    INCOME("income"),
+    SALARY("salary"),
+    DEBIT("debit"),
+    DR("dr"),
+    WITHDRAWAL("withdrawal"),
+    PAYMENT("payment"),
+    CASH("cash"),
+
+    // Identifier lines whose digits must not be read as amounts
+    TRANSACTION_ID("transaction id"),
+    UPI_TXN("upi txn"),
+    UPI_TRANSACTION_ID("upi transaction id"),
+    UTR("utr"),
+    REFERENCE_NO("reference no"),
+    REF_NO("ref no"),
+    REFERENCE_ID("reference id"),
+    UPI_REFERENCE("upi reference"),
+    ORDER_ID("order id"),
+    UPI_ID("upi id"),
+
+    // Payment methods
+    UPI("upi"),
+    UNIFIED_PAYMENT("unified payment"),
+    GPAY("gpay"),
+    GOOGLE_PAY("google pay"),
+    CARD("card"),
+    VISA("visa"),
+    MASTERCARD("mastercard"),
+    NET_BANKING("net banking"),
+    NEFT("neft"),
+    RTGS("rtgs"),
+    IMPS("imps");
+
+    private final String phrase;
+
+    TransactionKeyword(String phrase) {
+        this.phrase = phrase;
+    }
+
+    public String getPhrase() {
+        return phrase;
+    }
+}
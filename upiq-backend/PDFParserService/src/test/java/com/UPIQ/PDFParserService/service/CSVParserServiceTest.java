@@ -0,0 +1,58 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.UPIQ.PDFParserService.utils.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CSVParserServiceTest {
+
+    private final CSVParserService csvParserService = new CSVParserService(new TransactionMappingService());
+
+    @Test
+    public void testResolvesColumnsByPriorityIgnoringCase() {
+        List<TransactionRequest> txs = csvParserService.parseCSV(csv(
+                "Date,Narration,Details,AMT,Mode,Category\n"
+                        + "05/11/2025,,Swiggy order,250.00,UPI,Food\n"
+                        + "06/11/2025,Salary credit,,\"50,000\",NEFT,\n"));
+
+        assertEquals(2, txs.size());
+
+        TransactionRequest first = txs.get(0);
+        assertEquals(Money.ofPaise(25_000), first.getAmount());
+        // Blank "Narration" falls through to the next candidate column
+        assertEquals("Swiggy order", first.getDescription());
+        assertEquals(LocalDateTime.of(2025, 11, 5, 0, 0), first.getDate());
+        assertEquals("Food", first.getCategory());
+
+        TransactionRequest second = txs.get(1);
+        assertEquals(Money.ofPaise(5_000_000), second.getAmount());
+        assertEquals("Salary credit", second.getDescription());
+        assertNull(second.getCategory());
+    }
+
+    @Test
+    public void testStreamsValidRowsAndSkipsBadOnes() {
+        List<TransactionRequest> emitted = new ArrayList<>();
+        int count = csvParserService.parseCSV(csv(
+                "amount,description\n"
+                        + "100,Tea\n"
+                        + "n/a,Broken amount\n"
+                        + "-5,Negative\n"
+                        + "200,Coffee\n"), emitted::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of("Tea", "Coffee"), emitted.stream().map(TransactionRequest::getDescription).toList());
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "statement.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
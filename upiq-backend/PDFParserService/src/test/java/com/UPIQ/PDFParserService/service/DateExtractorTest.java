@@ -0,0 +1,112 @@
+package com.UPIQ.PDFParserService.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DateExtractorTest {
+
+    private final DateExtractor extractor = new DateExtractor();
+
+    @Test
+    public void testFormats() {
+        assertEquals(LocalDateTime.of(2025, 10, 25, 0, 0), extractor.extract("25 Oct 2025 Paid to Zomato"));
+        assertEquals(LocalDateTime.of(2025, 10, 1, 0, 0), extractor.extract("1 OCT, 25"));
+        assertEquals(LocalDateTime.of(2023, 10, 26, 0, 0), extractor.extract("on 26 - 10 - 2023"));
+        assertEquals(LocalDateTime.of(2023, 10, 26, 0, 0), extractor.extract("2023 - 10 - 26"));
+        assertEquals(LocalDateTime.of(2025, 2, 28, 0, 0), extractor.extract("31/2/2025"));
+        assertNull(extractor.extract("2023-02-30"));
+        assertNull(extractor.extract("01 October 2025"));
+        assertNull(extractor.extract("Paid to Zomato"));
+    }
+
+    @Test
+    public void testCounters() {
+        DateExtractor counted = new DateExtractor();
+        counted.extract("12 Dec 2025");
+        counted.extract("Paid to Zomato");
+        counted.extract("32/13/2025");
+
+        assertEquals(1, counted.getDatesFound());
+        assertEquals(1, counted.getLinesWithoutDate());
+        assertEquals(1, counted.getUnparseableDates());
+    }
+
+    @Test
+    public void testMatchesFormatterBasedParsing() {
+        String[] months = { "Jan", "feb", "MAR", "Sep", "Sept", "October", "dec" };
+        String[] separators = { "/", "-", ".", " / ", " - " };
+        Random random = new Random(7);
+        for (int round = 0; round < 5_000; round++) {
+            int day = random.nextInt(34);
+            int month = random.nextInt(14);
+            String year = switch (random.nextInt(4)) {
+                case 0 -> String.valueOf(random.nextInt(100));
+                case 1 -> String.format("%02d", random.nextInt(100));
+                case 2 -> String.valueOf(1990 + random.nextInt(50));
+                default -> String.valueOf(random.nextInt(1000));
+            };
+            String sep = separators[random.nextInt(separators.length)];
+            String text = switch (random.nextInt(3)) {
+                case 0 -> "Paid " + day + sep + month + sep + year + " ref";
+                case 1 -> year + " - " + (random.nextBoolean() ? String.format("%02d", month) : month) + "-"
+                        + String.format("%02d", day);
+                default -> day + " " + months[random.nextInt(months.length)] + (random.nextBoolean() ? ", " : " ")
+                        + year;
+            };
+            assertEquals(legacyExtractDate(text), extractor.extract(text), text);
+        }
+    }
+
+    // The formatter/exception based implementation DateExtractor replaced
+    private static final Pattern LEGACY_DATE_PATTERN = Pattern.compile(
+            "\\b(\\d{1,2}\\s*[/\\.-]\\s*\\d{1,2}\\s*[/\\.-]\\s*\\d{2,4})\\b|\\b(\\d{4}\\s*-\\s*\\d{1,2}\\s*-\\s*\\d{1,2})\\b|"
+                    + "(\\d{1,2}\\s+(?:Jan|Feb|Mar|Apr|May|Jun|Jul|Aug|Sep|Oct|Nov|Dec)[a-z]*\\s*[,\\s]+\\s*\\d{2,4})",
+            Pattern.CASE_INSENSITIVE);
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.ENGLISH);
+    }
+
+    private static LocalDateTime legacyExtractDate(String text) {
+        Matcher m = LEGACY_DATE_PATTERN.matcher(text);
+        if (m.find()) {
+            try {
+                if (m.group(3) != null) {
+                    String s = m.group(3).replaceAll("[,\\.\\-]", " ").replaceAll("\\s+", " ").trim();
+                    for (DateTimeFormatter fmt : List.of(formatter("d MMM yyyy"), formatter("d MMM yy"),
+                            formatter("dd MMM yyyy"))) {
+                        try {
+                            return LocalDate.parse(s, fmt).atStartOfDay();
+                        } catch (Exception ignored) {
+                        }
+                    }
+                } else if (m.group(2) != null) {
+                    String s = m.group(2).replaceAll("\\s+", "");
+                    return LocalDate.parse(s, DateTimeFormatter.ISO_LOCAL_DATE).atStartOfDay();
+                } else if (m.group(1) != null) {
+                    String s = m.group(1).replaceAll("[\\.\\-]", "/").replaceAll("\\s+", "");
+                    for (DateTimeFormatter fmt : List.of(formatter("d/M/yyyy"), formatter("d/M/yy"))) {
+                        try {
+                            return LocalDate.parse(s, fmt).atStartOfDay();
+                        } catch (Exception ignored) {
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                // fall through
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.UPIQ.PDFParserService.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DescriptionExtractorTest {
+
+    private final DescriptionExtractor extractor = new DescriptionExtractor();
+
+    @Test
+    public void testCleanNameMatchesRegexChain() {
+        String[][] cases = {
+                { "Paid to Zomato Limited UPI ID: zomato@okhdfc", "paid to" },
+                { "Received from Rahul Kumar - Ref 1234", "received from" },
+                { "Paid to Big Bazaar 12/10", "" },
+                { "Sent to Friend ₹ 100.00", "sent to" },
+                { "Purchase at Store – Andheri", "purchase" },
+                { "Paid to Davidson Stores", "paid to" },
+                { "Refund from Amazon", "refund" },
+                { "no keyword here", "paid to" },
+        };
+        for (String[] c : cases) {
+            assertEquals(legacyCleanName(c[0], c[1]), DescriptionExtractor.cleanName(c[0], c[1]), c[0]);
+        }
+    }
+
+    @Test
+    public void testDebitOwnAccountMatchFallsBackToKeywordLine() {
+        String description = extractor.extract(
+                Arrays.asList("Paid to Your Account", "Debited from HDFC Bank", "₹ 200.00"),
+                "Paid to Your Account Debited from HDFC Bank ₹ 200.00", "DEBIT");
+        // The combined-text match is rejected, so the per-line fallback names the payee
+        assertEquals("Paid to Your Account", description);
+    }
+
+    // The replaceAll chain DescriptionExtractor.cleanName replaced
+    private static String legacyCleanName(String line, String keyword) {
+        int idx = 0;
+        if (!keyword.isEmpty()) {
+            idx = line.toLowerCase().indexOf(keyword);
+            if (idx == -1)
+                return line.trim();
+            idx += keyword.length();
+        }
+        String raw = line.substring(idx).trim();
+        return raw.replaceAll("(?i)(?:upi|ref|id|rs|inr|₹).*$", "")
+                .replaceAll("\\d.*$", "")
+                .replaceAll("[-–].*$", "")
+                .trim();
+    }
+}
@@ -0,0 +1,51 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.config.ParserConfig;
+import com.UPIQ.PDFParserService.dto.ParseJobResponse;
+import com.UPIQ.PDFParserService.dto.ParseJobStatus;
+import com.UPIQ.PDFParserService.dto.ParsingResponse;
+import com.UPIQ.PDFParserService.exceptions.ParseJobNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ParseJobServiceTest {
+
+    @Test
+    public void testTimerPurgesFinishedJobsWithoutNewUploads() throws Exception {
+        ParserService parserService = mock(ParserService.class);
+        when(parserService.parseFile(any())).thenReturn(ParsingResponse.builder()
+                .transactions(new ArrayList<>())
+                .errors(new ArrayList<>())
+                .message("ok")
+                .build());
+        ParserConfig config = new ParserConfig();
+        ReflectionTestUtils.setField(config, "jobRetentionMinutes", 30L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ParseJobService service = new ParseJobService(parserService, mock(FileValidationService.class), config,
+                executor);
+
+        ParseJobResponse job = service.submit(
+                new MockMultipartFile("file", "march.pdf", "application/pdf", new byte[] { 1, 2, 3 }), 7L);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        service.purgeExpiredJobs();
+        assertEquals(ParseJobStatus.COMPLETED, service.getStatus(job.getJobId(), 7L).getStatus());
+
+        ReflectionTestUtils.setField(config, "jobRetentionMinutes", 0L);
+        Thread.sleep(5);
+        service.purgeExpiredJobs();
+        assertThrows(ParseJobNotFoundException.class, () -> service.getStatus(job.getJobId(), 7L));
+    }
+}
@@ -0,0 +1,150 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.config.ParserConfig;
+import com.UPIQ.PDFParserService.dto.ParsingResponse;
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.UPIQ.PDFParserService.utils.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParseResultCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    public void testKeyDependsOnlyOnContent() throws IOException {
+        ParseResultCache cache = new ParseResultCache(config(10, null), objectMapper);
+
+        String a = cache.key(new MockMultipartFile("file", "march.pdf", "application/pdf", new byte[] { 1, 2, 3 }));
+        String b = cache.key(new MockMultipartFile("file", "copy.pdf", "application/pdf", new byte[] { 1, 2, 3 }));
+        String c = cache.key(new MockMultipartFile("file", "march.pdf", "application/pdf", new byte[] { 1, 2, 4 }));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+        assertTrue(a.endsWith("-v" + ParseResultCache.PARSER_VERSION));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ParseResultCache cache = new ParseResultCache(config(2, null), objectMapper);
+        cache.put("a", response(100));
+        cache.put("b", response(200));
+        assertNotNull(cache.get("a")); // "b" is now the eldest
+        cache.put("c", response(300));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-11-05T10:00:00Z"));
+        ParseResultCache cache = new ParseResultCache(config(10, null), objectMapper, clock);
+        cache.put("a", response(100));
+
+        clock.advance(Duration.ofMinutes(59));
+        assertNotNull(cache.get("a"));
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testCachedResponseIsIsolatedFromCallers() {
+        ParseResultCache cache = new ParseResultCache(config(10, null), objectMapper);
+        cache.put("a", response(100));
+
+        cache.get("a").getTransactions().get(0).setCategory("Food");
+        cache.get("a").getTransactions().clear();
+
+        assertEquals(1, cache.get("a").getTransactions().size());
+        assertNotEquals("Food", cache.get("a").getTransactions().get(0).getCategory());
+    }
+
+    @Test
+    public void testDiskTierSurvivesRestart(@TempDir Path dir) {
+        ParseResultCache first = new ParseResultCache(config(10, dir), objectMapper);
+        first.put("a", response(12_345));
+
+        ParseResultCache restarted = new ParseResultCache(config(10, dir), objectMapper);
+        ParsingResponse cached = restarted.get("a");
+
+        assertNotNull(cached);
+        assertEquals(1, restarted.getDiskHits());
+        assertEquals(response(12_345), cached);
+
+        // Promoted into memory after the first disk read
+        restarted.get("a");
+        assertEquals(1, restarted.getMemoryHits());
+    }
+
+    private static ParserConfig config(int maxEntries, Path dir) {
+        ParserConfig config = new ParserConfig();
+        ReflectionTestUtils.setField(config, "resultCacheEnabled", true);
+        ReflectionTestUtils.setField(config, "resultCacheMaxEntries", maxEntries);
+        ReflectionTestUtils.setField(config, "resultCacheTtlMinutes", 60L);
+        ReflectionTestUtils.setField(config, "resultCacheDirectory", dir != null ? dir.toString() : "");
+        return config;
+    }
+
+    private static ParsingResponse response(long paise) {
+        TransactionRequest tx = TransactionRequest.builder()
+                .amount(Money.ofPaise(paise))
+                .type("expense")
+                .description("Paid to Swiggy")
+                .date(LocalDateTime.of(2025, 11, 5, 0, 0))
+                .paymentMethod("UPI")
+                .build();
+        return ParsingResponse.builder()
+                .totalTransactions(1)
+                .successfulParses(1)
+                .failedParses(0)
+                .transactions(new ArrayList<>(List.of(tx)))
+                .errors(new ArrayList<>())
+                .message("Successfully parsed 1 transactions from statement.pdf")
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
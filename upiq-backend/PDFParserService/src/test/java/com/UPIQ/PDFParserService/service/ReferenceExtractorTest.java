@@ -0,0 +1,31 @@
+package com.UPIQ.PDFParserService.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ReferenceExtractorTest {
+
+    private final ReferenceExtractor extractor = new ReferenceExtractor();
+
+    @Test
+    public void testFindsReferenceInEachStatementFormat() {
+        // PhonePe: the UTR wins over the app's own transaction id
+        assertEquals("512345678901", extractor.extract(
+                "05 Nov 2025 10:15 AM Paid to Swiggy Transaction ID T2511051015123456789012 UTR No. 512345678901"));
+        assertEquals("498765432109", extractor.extract(
+                "Paid to Zomato UPI Transaction ID: 498765432109 Paid by HDFC Bank 1234 ₹250.00"));
+        assertEquals("312345678901", extractor.extract(
+                "05 Nov 2025 Sent to Rahul Kumar UPI Ref No: 312345678901 ICICI Bank - 12 - Rs.100.00"));
+        assertEquals("523456789012", extractor.extract(
+                "05/11/2025 UPI/DR/523456789012/SWIGGY Debited Payment to Swiggy INR 250.00"));
+    }
+
+    @Test
+    public void testFallsBackToOtherIdentifiers() {
+        assertEquals("T2511051015123456789012", extractor.extract(
+                "Paid to Swiggy transaction id t2511051015123456789012 DEBIT ₹250.00"));
+        assertNull(extractor.extract("Paid to Swiggy ₹250.00 05 Nov 2025"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.UPIQ.PDFParserService.service;
+
+import com.UPIQ.PDFParserService.config.ParserConfig;
+import com.UPIQ.PDFParserService.dto.TransactionRequest;
+import com.UPIQ.PDFParserService.utils.Money;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingPDFParseTest {
+
+    private final AIPDFParserService parserService = new AIPDFParserService();
+
+    @Test
+    public void testBlockSpanningPageBoundary() throws IOException {
+        // Page 1 ends in the middle of the Zomato block; the amount is on page 2.
+        byte[] pdf = buildPdf(
+                List.of("12 Dec 2025", "Paid to Swiggy", "Rs. 250.00", "Paid to Zomato"),
+                List.of("Rs. 450.00", "Received from Rahul Kumar", "Rs. 2000.00"));
+
+        List<TransactionRequest> txs = parserService.parsePDF(
+                new MockMultipartFile("file", "statement.pdf", "application/pdf", pdf));
+
+        assertEquals(3, txs.size());
+        assertEquals("Paid to Zomato", txs.get(1).getDescription());
+        assertEquals(Money.ofPaise(45_000), txs.get(1).getAmount());
+        assertEquals("income", txs.get(2).getType());
+    }
+
+    @Test
+    public void testStickyDateCarriesAcrossPages() throws IOException {
+        byte[] pdf = buildPdf(
+                List.of("05 Nov 2025", "Paid to Swiggy", "Rs. 250.00"),
+                List.of("Paid to Zomato", "Rs. 450.00"));
+
+        List<TransactionRequest> txs = parserService.parsePDF(
+                new MockMultipartFile("file", "statement.pdf", "application/pdf", pdf));
+
+        assertEquals(2, txs.size());
+        assertEquals(LocalDateTime.of(2025, 11, 5, 0, 0), txs.get(1).getDate());
+    }
+
+    @Test
+    public void testParallelExtractionMatchesSequential() throws IOException {
+        ParserConfig config = new ParserConfig();
+        ReflectionTestUtils.setField(config, "parallelExtractionEnabled", true);
+        ReflectionTestUtils.setField(config, "parallelMinPages", 1);
+        ReflectionTestUtils.setField(config, "pagesPerRange", 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AIPDFParserService parallelService = new AIPDFParserService(config, executor);
+            MockMultipartFile file = new MockMultipartFile("file", "statement.pdf", "application/pdf", buildPdf(
+                    List.of("05 Nov 2025", "Paid to Swiggy", "Rs. 250.00", "Paid to"),
+                    List.of("Zomato Limited", "Rs. 450.00"),
+                    List.of("06 Nov 2025 Received from Rahul Kumar", "Rs. 2000.00")));
+
+            List<TransactionRequest> expected = parserService.parsePDF(file);
+            List<TransactionRequest> actual = parallelService.parsePDF(file);
+
+            assertEquals(3, actual.size());
+            assertEquals(expected, actual);
+            assertEquals("Paid to Zomato Limited", actual.get(1).getDescription());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @SafeVarargs
+    private static byte[] buildPdf(List<String>... pages) throws IOException {
+        try (PDDocument document = new PDDocument();
+                ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (List<String> lines : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.setLeading(16);
+                    content.newLineAtOffset(50, 700);
+                    for (String line : lines) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+}
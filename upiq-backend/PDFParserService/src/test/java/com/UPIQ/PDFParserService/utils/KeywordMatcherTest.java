@@ -0,0 +1,57 @@
+package com.UPIQ.PDFParserService.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeywordMatcherTest {
+
+    @Test
+    public void testOverlappingKeywordsAreAllReported() {
+        KeywordHits hits = KeywordMatcher.scan("Paid to you via UPI - sent to your BANK");
+
+        assertTrue(hits.has(TransactionKeyword.PAID_TO));
+        assertTrue(hits.has(TransactionKeyword.PAID_TO_YOU));
+        assertTrue(hits.has(TransactionKeyword.SENT_TO));
+        assertTrue(hits.has(TransactionKeyword.SENT_TO_YOUR_BANK));
+        assertTrue(hits.has(TransactionKeyword.TO_YOUR_BANK));
+        assertTrue(hits.has(TransactionKeyword.UPI));
+        assertFalse(hits.has(TransactionKeyword.RECEIVED_FROM));
+    }
+
+    @Test
+    public void testNonAsciiTextResetsMatching() {
+        assertFalse(KeywordMatcher.scan("paid₹to").has(TransactionKeyword.PAID_TO));
+        assertTrue(KeywordMatcher.scan("₹ 450.00 paid to Zomato").has(TransactionKeyword.PAID_TO));
+        assertTrue(KeywordMatcher.scan(null).isEmpty());
+    }
+
+    @Test
+    public void testMatchesLowercaseContainsSemantics() {
+        // Build random text from keyword fragments and compare against the
+        // toLowerCase().contains() chains the matcher replaced.
+        TransactionKeyword[] keywords = TransactionKeyword.values();
+        Random random = new Random(42);
+        for (int round = 0; round < 2_000; round++) {
+            StringBuilder text = new StringBuilder();
+            int parts = 1 + random.nextInt(6);
+            for (int i = 0; i < parts; i++) {
+                String phrase = keywords[random.nextInt(keywords.length)].getPhrase();
+                int from = random.nextInt(phrase.length());
+                String fragment = phrase.substring(from, from + 1 + random.nextInt(phrase.length() - from));
+                text.append(random.nextBoolean() ? fragment.toUpperCase() : fragment);
+                if (random.nextInt(3) == 0) {
+                    text.append(' ');
+                }
+            }
+            String lower = text.toString().toLowerCase();
+            KeywordHits hits = KeywordMatcher.scan(text);
+            for (TransactionKeyword keyword : keywords) {
+                assertEquals(lower.contains(keyword.getPhrase()), hits.has(keyword),
+                        () -> keyword + " in '" + text + "'");
+            }
+        }
+    }
+}
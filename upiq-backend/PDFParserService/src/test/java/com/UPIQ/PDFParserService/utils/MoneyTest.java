@@ -0,0 +1,52 @@
+package com.UPIQ.PDFParserService.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void testParsesIndianGroupingInPlace() {
+        String line = "Paid ₹ 1,23,456.78 to Zomato";
+        int start = line.indexOf('1');
+        int end = line.indexOf(" to");
+
+        assertEquals(12_345_678L, Money.parsePaise(line, start, end));
+        assertEquals(45_000L, Money.parsePaise("450"));
+        assertEquals(45_050L, Money.parsePaise("450.5"));
+        assertEquals(45_051L, Money.parsePaise("450.505"));
+        assertEquals(-10_000L, Money.parsePaise("-100"));
+    }
+
+    @Test
+    public void testRejectsMalformedAmounts() {
+        assertEquals(Money.INVALID, Money.parsePaise(",,,"));
+        assertEquals(Money.INVALID, Money.parsePaise("1.2.3"));
+        assertEquals(Money.INVALID, Money.parsePaise("12a"));
+        assertEquals(Money.INVALID, Money.parsePaise("1234567890123456"));
+        assertEquals(Money.INVALID, Money.parsePaise(null));
+    }
+
+    @Test
+    public void testLenientParsingIgnoresDecorations() {
+        assertEquals(120_000L, Money.parsePaiseLenient("₹ 1,200 Dr"));
+        assertEquals(-5_025L, Money.parsePaiseLenient("-50.25 INR"));
+        assertEquals(Money.INVALID, Money.parsePaiseLenient("12-05"));
+        assertEquals(Money.INVALID, Money.parsePaiseLenient("n/a"));
+    }
+
+    @Test
+    public void testJsonIsDecimalRupees() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals("450.50", mapper.writeValueAsString(Money.ofPaise(45_050)));
+        assertEquals(Money.ofPaise(45_050), mapper.readValue("450.5", Money.class));
+        assertEquals(Money.ofPaise(10), mapper.readValue("\"0.1\"", Money.class));
+        assertEquals(new BigDecimal("0.30"), Money.ofRupees(new BigDecimal("0.1")).toRupees()
+                .add(Money.ofRupees(new BigDecimal("0.2")).toRupees()));
+    }
+}
@@ -1,22 +1,69 @@
 -- Drop table if exists
 DROP TABLE IF EXISTS transactions;
+DROP TABLE IF EXISTS monthly_rollups;
 
 -- Create transactions table
 CREATE TABLE transactions (
                               id SERIAL PRIMARY KEY,
                               user_id BIGINT NOT NULL,
-                              amount NUMERIC(15,2) NOT NULL,
+                              amount_paise BIGINT NOT NULL,    -- exact amount in paise (1/100 rupee)
                               type VARCHAR(50) NOT NULL,       -- income/expense
                               category VARCHAR(255) NOT NULL,
                               description VARCHAR(255),
                               date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                              payment_method VARCHAR(50)
+                              payment_method VARCHAR(50),
+                              fingerprint VARCHAR(64)          -- SHA-256 identity of imported rows, see TransactionFingerprint
 );
 
+-- Hibernate reserves ids 50 at a time (allocationSize on Transaction.id)
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+
+-- Keyset-paginated listing: WHERE user_id = ? ORDER BY date DESC, id DESC
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, date DESC, id DESC);
+
+-- Category lookups compare lower(category), newest first
+CREATE INDEX idx_transactions_user_category ON transactions (user_id, lower(category), date DESC, id DESC);
+
+-- Merchant / description search (TransactionRepository.SEARCH_TEXT): trigram GIN over the searched expression
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_transactions_search_trgm ON transactions
+    USING gin (lower(coalesce(description, '') || ' ' || category) gin_trgm_ops);
+
+-- Re-imported statement rows are skipped by fingerprint; manual entries leave it NULL
+CREATE UNIQUE INDEX uk_transactions_user_fingerprint ON transactions (user_id, fingerprint);
+
+-- Per-user monthly totals, maintained by the service alongside every write
+CREATE TABLE monthly_rollups (
+                              user_id BIGINT NOT NULL,
+                              month_start DATE NOT NULL,       -- first day of the month
+                              category VARCHAR(255) NOT NULL,
+                              type VARCHAR(50) NOT NULL,       -- lower case income/expense
+                              tx_count BIGINT NOT NULL,
+                              total_paise BIGINT NOT NULL,
+                              PRIMARY KEY (user_id, month_start, category, type)
+);
+
+-- Migrating an existing database from the NUMERIC amount column:
+--   ALTER TABLE transactions ADD COLUMN amount_paise BIGINT;
+--   UPDATE transactions SET amount_paise = ROUND(amount * 100);
+--   ALTER TABLE transactions ALTER COLUMN amount_paise SET NOT NULL;
+--   ALTER TABLE transactions DROP COLUMN amount;
+--   ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+--
+-- Adding import de-duplication to an existing database (older rows keep a NULL fingerprint):
+--   ALTER TABLE transactions ADD COLUMN fingerprint VARCHAR(64);
+--   CREATE UNIQUE INDEX uk_transactions_user_fingerprint ON transactions (user_id, fingerprint);
+--
+-- Adding search and the category index to an existing database:
+--   CREATE EXTENSION IF NOT EXISTS pg_trgm;
+--   CREATE INDEX CONCURRENTLY idx_transactions_user_category ON transactions (user_id, lower(category), date DESC, id DESC);
+--   CREATE INDEX CONCURRENTLY idx_transactions_search_trgm ON transactions
+--       USING gin (lower(coalesce(description, '') || ' ' || category) gin_trgm_ops);
+
 -- Optional default data
-INSERT INTO transactions (user_id, amount, type, category, description, payment_method) VALUES
-                                                                                            (1, 500.00, 'EXPENSE', 'Food', 'Groceries purchase', 'UPI'),
-                                                                                            (2, 1200.00, 'EXPENSE', 'Shopping', 'Clothes and accessories', 'Card'),
-                                                                                            (3, 5000.00, 'INCOME', 'Salary', 'Monthly salary', 'Bank Transfer'),
-                                                                                            (4, 300.00, 'EXPENSE', 'Transport', 'Taxi fare', 'Cash'),
-                                                                                            (5, 200.00, 'EXPENSE', 'Medical', 'Medicines', 'UPI');
\ No newline at end of file
+INSERT INTO transactions (user_id, amount_paise, type, category, description, payment_method) VALUES
+                                                                                            (1, 50000, 'EXPENSE', 'Food', 'Groceries purchase', 'UPI'),
+                                                                                            (2, 120000, 'EXPENSE', 'Shopping', 'Clothes and accessories', 'Card'),
+                                                                                            (3, 500000, 'INCOME', 'Salary', 'Monthly salary', 'Bank Transfer'),
+                                                                                            (4, 30000, 'EXPENSE', 'Transport', 'Taxi fare', 'Cash'),
+                                                                                            (5, 20000, 'EXPENSE', 'Medical', 'Medicines', 'UPI');
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.UPIQ.TransactionService.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier, the
+ * situation in which virtual threads stop scaling (a lock held inside
+ * {@code synchronized}, or a native frame, around blocking I/O).
+ * <p>
+ * Active only with {@code spring.threads.virtual.enabled=true}. Listens to the
+ * JFR {@code jdk.VirtualThreadPinned} event in process and logs each pin
+ * longer than {@code app.virtual-threads.pinned-threshold-ms} with the frames
+ * that caused it.
+ * <p>
+ * The services share no module, so each carries an identical copy of this
+ * class; change them together.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinnedThreadMonitor implements DisposableBean {
+
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream stream = new RecordingStream();
+
+    public PinnedThreadMonitor(@Value("${app.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        stream.enable("jdk.VirtualThreadPinned")
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+        log.info("Virtual threads enabled, reporting pins longer than {} ms", thresholdMs);
+    }
+
+    private void report(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        // The innermost frames are the JDK's own parking code; start at the caller that blocked
+        String stack = frames.stream()
+                .dropWhile(PinnedThreadMonitor::isJdkFrame)
+                .limit(LOGGED_FRAMES)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        log.warn("Virtual thread {} pinned its carrier for {} ms\n\tat {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), stack);
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    @Override
+    public void destroy() {
+        stream.close();
+    }
+}
@@ -0,0 +1,103 @@
+package com.UPIQ.TransactionService.controller;
+
+import com.UPIQ.TransactionService.dto.AnalyticsBucket;
+import com.UPIQ.TransactionService.dto.ApiResponse;
+import com.UPIQ.TransactionService.service.AnalyticsService;
+import com.UPIQ.TransactionService.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dashboard summaries. from/to are whole days and both inclusive; either may
+ * be omitted for an open range.
+ */
+@RestController
+@RequestMapping("/api/transactions/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+        private final AnalyticsService analyticsService;
+        private final RollupService rollupService;
+
+        // ------------------- TOTALS BY TYPE -------------------
+        @GetMapping("/totals")
+        public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> totals(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return ok(analyticsService.totalsByType(userId, startOf(from), endOf(to)));
+        }
+
+        // ------------------- CATEGORY BREAKDOWN -------------------
+        @GetMapping("/categories")
+        public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> categories(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return ok(analyticsService.totalsByCategory(userId, startOf(from), endOf(to)));
+        }
+
+        // ------------------- DAILY / WEEKLY / MONTHLY TREND -------------------
+        @GetMapping("/trend")
+        public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> trend(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(defaultValue = "month") String interval,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return ok(analyticsService.trend(userId, interval, startOf(from), endOf(to)));
+        }
+
+        // ------------------- MONTHLY ROLLUPS -------------------
+        // from/to pick whole months; any day inside the month works
+        @GetMapping("/monthly")
+        public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> monthly(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return ok(analyticsService.monthly(userId, from, to));
+        }
+
+        @PostMapping("/monthly/rebuild")
+        public ResponseEntity<ApiResponse<String>> rebuildMonthly(@RequestHeader("X-User-Id") Long userId) {
+                rollupService.rebuildUser(userId);
+                ApiResponse<String> response = ApiResponse.<String>builder()
+                                .success(true)
+                                .data(null)
+                                .message("Monthly rollups rebuilt successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- TOP MERCHANTS -------------------
+        @GetMapping("/merchants")
+        public ResponseEntity<ApiResponse<List<AnalyticsBucket>>> merchants(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(defaultValue = "10") int limit,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return ok(analyticsService.topMerchants(userId, startOf(from), endOf(to), limit));
+        }
+
+        private static ResponseEntity<ApiResponse<List<AnalyticsBucket>>> ok(List<AnalyticsBucket> buckets) {
+                ApiResponse<List<AnalyticsBucket>> response = ApiResponse.<List<AnalyticsBucket>>builder()
+                                .success(true)
+                                .data(buckets)
+                                .message("Analytics retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        private static LocalDateTime startOf(LocalDate from) {
+                return from != null ? from.atStartOfDay() : null;
+        }
+
+        private static LocalDateTime endOf(LocalDate to) {
+                return to != null ? to.plusDays(1).atStartOfDay() : null;
+        }
+}
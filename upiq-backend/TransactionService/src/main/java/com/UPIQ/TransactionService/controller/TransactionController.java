@@ -1,15 +1,30 @@
 package com.UPIQ.TransactionService.controller;
 
 import com.UPIQ.TransactionService.dto.ApiResponse;
+import com.UPIQ.TransactionService.dto.BulkTransactionRequest;
+import com.UPIQ.TransactionService.dto.BulkTransactionResponse;
 import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.dto.ExportFormat;
+import com.UPIQ.TransactionService.dto.TransactionFilter;
+import com.UPIQ.TransactionService.dto.TransactionPage;
 import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.UPIQ.TransactionService.dto.TransactionSearchPage;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.service.ExportService;
 import com.UPIQ.TransactionService.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +33,7 @@ import java.util.List;
 public class TransactionController {
 
         private final TransactionService service;
+        private final ExportService exportService;
 
         // ------------------- ADD TRANSACTION -------------------
         @PostMapping
@@ -33,6 +49,25 @@ public class TransactionController {
                 return ResponseEntity.status(HttpStatus.CREATED).body(response);
         }
 
+        // ------------------- BULK ADD TRANSACTIONS -------------------
+        @PostMapping("/bulk")
+        public ResponseEntity<ApiResponse<BulkTransactionResponse>> addBulk(
+                        @Valid @RequestBody BulkTransactionRequest request,
+                        @RequestHeader("X-User-Id") Long userId) {
+                BulkTransactionResponse result = service.addTransactions(request.getTransactions(), userId);
+                ApiResponse<BulkTransactionResponse> response = ApiResponse.<BulkTransactionResponse>builder()
+                                .success(result.getFailed() == 0)
+                                .data(result)
+                                .message(String.format("Created %d of %d transactions, %d already imported",
+                                                result.getCreated(), result.getReceived(), result.getSkipped()))
+                                .build();
+                // 201 only when something was stored; a batch whose rows all failed is a 422,
+                // and one that was entirely already imported is a plain 200
+                HttpStatus status = result.getCreated() > 0 ? HttpStatus.CREATED
+                                : result.getFailed() > 0 ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.OK;
+                return ResponseEntity.status(status).body(response);
+        }
+
         // ------------------- GET ALL USER TRANSACTIONS -------------------
         @GetMapping
         public ResponseEntity<ApiResponse<List<TransactionResponse>>> getUserTransactions(
@@ -46,6 +81,69 @@ public class TransactionController {
                 return ResponseEntity.ok(response);
         }
 
+        // ------------------- EXPORT FULL HISTORY -------------------
+        // CSV or newline-delimited JSON, oldest first, written while the rows are read
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> export(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(defaultValue = "csv") String format) {
+                ExportFormat exportFormat = ExportFormat.from(format);
+                StreamingResponseBody body = out -> exportService.export(userId, exportFormat, out);
+                return ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                .filename("transactions." + exportFormat.getExtension())
+                                                .build().toString())
+                                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                                .body(body);
+        }
+
+        // ------------------- GET USER TRANSACTIONS, ONE PAGE AT A TIME -------------------
+        // Newest first. Dates are whole days (to is inclusive), amounts are rupees.
+        @GetMapping("/page")
+        public ResponseEntity<ApiResponse<TransactionPage>> getUserTransactionsPage(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "50") int size,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(required = false) String type,
+                        @RequestParam(required = false) String category,
+                        @RequestParam(required = false) BigDecimal minAmount,
+                        @RequestParam(required = false) BigDecimal maxAmount) {
+                TransactionFilter filter = TransactionFilter.builder()
+                                .from(from != null ? from.atStartOfDay() : null)
+                                .to(to != null ? to.plusDays(1).atStartOfDay() : null)
+                                .type(type)
+                                .category(category)
+                                .minAmount(Money.ofRupees(minAmount))
+                                .maxAmount(Money.ofRupees(maxAmount))
+                                .build();
+                TransactionPage page = service.getUserTransactionsPage(userId, filter, cursor, size);
+                ApiResponse<TransactionPage> response = ApiResponse.<TransactionPage>builder()
+                                .success(true)
+                                .data(page)
+                                .message("Transactions retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
+        // ------------------- SEARCH BY MERCHANT / DESCRIPTION -------------------
+        // Matches description and category, best match first
+        @GetMapping("/search")
+        public ResponseEntity<ApiResponse<TransactionSearchPage>> search(
+                        @RequestHeader("X-User-Id") Long userId,
+                        @RequestParam String q,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "50") int size) {
+                TransactionSearchPage result = service.searchTransactions(userId, q, page, size);
+                ApiResponse<TransactionSearchPage> response = ApiResponse.<TransactionSearchPage>builder()
+                                .success(true)
+                                .data(result)
+                                .message("Transactions retrieved successfully")
+                                .build();
+                return ResponseEntity.ok(response);
+        }
+
         // ------------------- GET USER TRANSACTIONS BY CATEGORY -------------------
         @GetMapping("/category/{category}")
         public ResponseEntity<ApiResponse<List<TransactionResponse>>> getByCategory(
@@ -0,0 +1,27 @@
+package com.UPIQ.TransactionService.dto;
+
+import com.UPIQ.TransactionService.model.Money;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One aggregated row. Only the fields the query groups by are set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalyticsBucket {
+    private LocalDate period;        // first day of the day/week/month bucket
+    private String type;             // income/expense
+    private String category;
+    private String description;      // merchant, for top merchants
+    private Money total;
+    private long count;
+}
@@ -0,0 +1,18 @@
+package com.UPIQ.TransactionService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowResult {
+    private int index;          // position of the row in the request
+    private boolean success;
+    private Long id;            // id of the created transaction, or the stored one for a duplicate
+    private boolean duplicate;  // already imported, nothing was written
+    private String error;       // why the row was rejected
+}
@@ -0,0 +1,20 @@
+package com.UPIQ.TransactionService.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionRequest {
+
+    // Rows are validated one by one so a bad row does not reject the whole upload
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 5000, message = "At most 5000 transactions per request")
+    private List<CreateTransactionRequest> transactions;
+}
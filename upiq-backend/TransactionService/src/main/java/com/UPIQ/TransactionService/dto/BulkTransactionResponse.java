@@ -0,0 +1,20 @@
+package com.UPIQ.TransactionService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionResponse {
+    private int received;
+    private int created;
+    private int skipped;                   // duplicates of rows already stored
+    private int failed;
+    private List<BulkRowResult> results;   // one per submitted row, in request order
+}
@@ -1,8 +1,10 @@
 package com.UPIQ.TransactionService.dto;
 
+import com.UPIQ.TransactionService.model.Money;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,7 +15,7 @@ import lombok.NoArgsConstructor;
 public class CreateTransactionRequest {
 
     @NotNull(message = "Amount is required")
-    private Double amount;
+    private Money amount;            // decimal rupees on the wire
 
     @NotBlank(message = "Type is required")
     @Pattern(regexp = "^(?i)(income|expense)$", message = "Type must be 'income' or 'expense'")
@@ -27,4 +29,7 @@ public class CreateTransactionRequest {
     private String paymentMethod;
 
     private String date; // Changed to String to handle formats manually
+
+    @Size(max = 64, message = "Reference must be at most 64 characters")
+    private String reference;        // UTR / UPI reference, used to skip re-imported rows
 }
@@ -0,0 +1,25 @@
+package com.UPIQ.TransactionService.dto;
+
+import com.UPIQ.TransactionService.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side filters for the paged listing; null fields are not applied
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+    private LocalDateTime from;      // inclusive
+    private LocalDateTime to;        // exclusive
+    private String type;             // income/expense, case-insensitive
+    private String category;         // case-insensitive
+    private Money minAmount;         // inclusive
+    private Money maxAmount;         // inclusive
+}
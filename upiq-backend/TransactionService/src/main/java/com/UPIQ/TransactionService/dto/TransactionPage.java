@@ -0,0 +1,19 @@
+package com.UPIQ.TransactionService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPage {
+    private List<TransactionResponse> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;       // pass back as ?cursor= for the next page, null on the last page
+}
@@ -1,5 +1,6 @@
 package com.UPIQ.TransactionService.dto;
 
+import com.UPIQ.TransactionService.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 public class TransactionResponse {
     private Long id;
     private Long userId;
-    private Double amount;
+    private Money amount;
     private String type;
     private String category;
     private String description;
@@ -0,0 +1,23 @@
+package com.UPIQ.TransactionService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSearchPage {
+    private String query;
+    private List<TransactionResponse> items;
+    private int page;                // zero based; pass page + 1 for the next one
+    private int size;
+    private boolean hasMore;
+}
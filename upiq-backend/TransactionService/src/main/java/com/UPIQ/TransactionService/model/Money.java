@@ -0,0 +1,66 @@
+package com.UPIQ.TransactionService.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact rupee amount held as a whole number of paise.
+ * <p>
+ * Stored as a BIGINT ({@link Transaction#getAmountPaise()}) so sums in the
+ * database are exact integer arithmetic; on the wire it is still a decimal
+ * number of rupees ({@code 1234.50}).
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0L ? ZERO : new Money(paise);
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money ofRupees(BigDecimal rupees) {
+        if (rupees == null) {
+            return null;
+        }
+        return ofPaise(rupees.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long getPaise() {
+        return paise;
+    }
+
+    @JsonValue
+    public BigDecimal toRupees() {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && paise == other.paise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return toRupees().toPlainString();
+    }
+}
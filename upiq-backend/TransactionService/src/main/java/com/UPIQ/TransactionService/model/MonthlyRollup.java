@@ -0,0 +1,27 @@
+package com.UPIQ.TransactionService.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Count and sum of a user's transactions for one month, category and type.
+ * Kept in step with the transactions table by RollupService, in the same
+ * database transaction as every write.
+ */
+@Entity
+@Table(name = "monthly_rollups")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyRollup {
+
+    @EmbeddedId
+    private MonthlyRollupId id;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    @Column(name = "total_paise", nullable = false)
+    private Long totalPaise;
+}
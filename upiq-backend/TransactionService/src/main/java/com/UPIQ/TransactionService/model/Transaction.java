@@ -5,22 +5,29 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Serves the keyset-paginated listing: WHERE user_id = ? ORDER BY date DESC, id DESC
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date DESC, id DESC"),
+        // Re-importing a statement must not duplicate rows, see TransactionFingerprint
+        @Index(name = "uk_transactions_user_fingerprint", columnList = "user_id, fingerprint", unique = true)
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    // Sequence ids are handed out in blocks of 50, so inserts can be JDBC batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private Long userId;             // user making the transaction
 
-    @Column(nullable = false)
-    private Double amount;
+    @Column(name = "amount_paise", nullable = false)
+    private Long amountPaise;        // exact amount in paise, see Money
 
     @Column(nullable = false)
     private String type;             // income/expense or credit/debit
@@ -34,5 +41,8 @@ public class Transaction {
     private LocalDateTime date = LocalDateTime.now();
 
     private String paymentMethod;    // UPI, Cash, Card
+
+    @Column(length = 64)
+    private String fingerprint;      // imports and rows with a reference only, see TransactionFingerprint
 }
 
@@ -0,0 +1,86 @@
+package com.UPIQ.TransactionService.repository;
+
+import com.UPIQ.TransactionService.model.MonthlyRollup;
+import com.UPIQ.TransactionService.model.MonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    String REBUILD_SELECT = "SELECT user_id, CAST(date_trunc('month', date) AS DATE), category, lower(type), "
+            + "COUNT(*), SUM(amount_paise) FROM transactions ";
+    String REBUILD_GROUP_BY = " GROUP BY 1, 2, 3, 4";
+
+    // Upsert, so concurrent writers for the same bucket serialize on the row instead of losing updates
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, month_start, category, type, tx_count, total_paise) "
+            + "VALUES (:userId, :monthStart, :category, :type, :countDelta, :paiseDelta) "
+            + "ON CONFLICT (user_id, month_start, category, type) DO UPDATE SET "
+            + "tx_count = monthly_rollups.tx_count + EXCLUDED.tx_count, "
+            + "total_paise = monthly_rollups.total_paise + EXCLUDED.total_paise", nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+            @Param("category") String category, @Param("type") String type,
+            @Param("countDelta") long countDelta, @Param("paiseDelta") long paiseDelta);
+
+    /**
+     * Taken first by a rebuild. It waits for every writer already holding
+     * {@link #applyDelta}'s row lock to commit, and new writers wait for the
+     * rebuild, so no delta lands between its delete and its recount.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE monthly_rollups IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockAgainstWriters();
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = :userId AND month_start = :monthStart "
+            + "AND category = :category AND type = :type AND tx_count <= 0", nativeQuery = true)
+    void deleteIfEmpty(@Param("userId") Long userId, @Param("monthStart") LocalDate monthStart,
+            @Param("category") String category, @Param("type") String type);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups WHERE user_id = :userId", nativeQuery = true)
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, month_start, category, type, tx_count, total_paise) "
+            + REBUILD_SELECT + "WHERE user_id = :userId" + REBUILD_GROUP_BY, nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, month_start, category, type, tx_count, total_paise) "
+            + REBUILD_SELECT + REBUILD_GROUP_BY, nativeQuery = true)
+    int rebuildAllRows();
+
+    // ------------------- READS -------------------
+    // Month-aligned ranges only: [from, to) on month_start
+
+    @Query("SELECT r.id.type AS type, SUM(r.totalPaise) AS totalPaise, SUM(r.txCount) AS count "
+            + "FROM MonthlyRollup r WHERE r.id.userId = :userId AND r.id.monthStart >= :from AND r.id.monthStart < :to "
+            + "GROUP BY r.id.type")
+    List<TransactionRepository.TypeTotal> sumByType(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT r.id.type AS type, r.id.category AS category, SUM(r.totalPaise) AS totalPaise, "
+            + "SUM(r.txCount) AS count "
+            + "FROM MonthlyRollup r WHERE r.id.userId = :userId AND r.id.monthStart >= :from AND r.id.monthStart < :to "
+            + "GROUP BY r.id.type, r.id.category ORDER BY SUM(r.totalPaise) DESC")
+    List<TransactionRepository.CategoryTotal> sumByCategory(@Param("userId") Long userId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM MonthlyRollup r WHERE r.id.userId = :userId "
+            + "AND r.id.monthStart >= :from AND r.id.monthStart < :to "
+            + "ORDER BY r.id.monthStart, r.id.type, r.id.category")
+    List<MonthlyRollup> findRange(@Param("userId") Long userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
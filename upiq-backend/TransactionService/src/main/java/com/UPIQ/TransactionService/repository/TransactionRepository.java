@@ -1,17 +1,215 @@
 package com.UPIQ.TransactionService.repository;
 
 import com.UPIQ.TransactionService.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+
+    String EXPORT_FETCH_SIZE = "500";
 
     List<Transaction> findByUserIdOrderByDateDesc(Long userId);
 
-    List<Transaction> findByUserIdAndCategoryIgnoreCase(Long userId, String category);
+    // lower() on both sides so idx_transactions_user_category (user_id, lower(category), ...) applies
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND lower(t.category) = lower(:category) "
+            + "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findByUserIdAndCategoryIgnoreCase(@Param("userId") Long userId,
+            @Param("category") String category);
+
+    // ------------------- SEARCH -------------------
+    // Description and category are searched as one lower-cased string. On PostgreSQL that exact
+    // expression carries the pg_trgm GIN index idx_transactions_search_trgm (see init.sql).
+
+    String SEARCH_TEXT = "lower(coalesce(t.description, '') || ' ' || t.category)";
+
+    /**
+     * Substring matches first, then fuzzy word matches ({@code <%}), each
+     * ranked by pg_trgm word similarity and then newest first.
+     *
+     * @param pattern {@code %query%} with LIKE wildcards escaped
+     */
+    @Query(value = "SELECT t.* FROM transactions t WHERE t.user_id = :userId "
+            + "AND (" + SEARCH_TEXT + " LIKE :pattern OR :query <% " + SEARCH_TEXT + ") "
+            + "ORDER BY (" + SEARCH_TEXT + " LIKE :pattern) DESC, "
+            + "word_similarity(:query, " + SEARCH_TEXT + ") DESC, t.date DESC, t.id DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Transaction> searchRanked(@Param("userId") Long userId, @Param("query") String query,
+            @Param("pattern") String pattern, @Param("limit") int limit, @Param("offset") long offset);
+
+    // Portable fallback for databases without pg_trgm: substring matches only, newest first
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId "
+            + "AND lower(concat(coalesce(t.description, ''), ' ', t.category)) LIKE :pattern "
+            + "ORDER BY t.date DESC, t.id DESC")
+    Slice<Transaction> searchByPattern(@Param("userId") Long userId, @Param("pattern") String pattern,
+            Pageable pageable);
+
+    @Query(value = "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", nativeQuery = true)
+    long countTrigramExtension();
+
+    // One lookup per insert batch, served by uk_transactions_user_fingerprint
+    @Query("SELECT t.fingerprint AS fingerprint, t.id AS id FROM Transaction t "
+            + "WHERE t.userId = :userId AND t.fingerprint IN :fingerprints")
+    List<FingerprintMatch> findByFingerprints(@Param("userId") Long userId,
+            @Param("fingerprints") Collection<String> fingerprints);
+
+    /**
+     * Whole history, oldest first, read through a cursor {@value #EXPORT_FETCH_SIZE}
+     * rows at a time. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId ORDER BY t.date, t.id")
+    Stream<Transaction> streamByUserId(@Param("userId") Long userId);
+
+    // ------------------- SET-BASED WRITES -------------------
+    // Ownership is part of the WHERE clause, so none of these needs a prior select.
+    // RETURNING hands back what the monthly rollups need to stay in step.
+    // deleteOwned and updateOwned are not @Modifying: Spring Data only lets a modifying
+    // query return a row count, not the RETURNING row. So nothing clears the persistence
+    // context for them; callers must clear it afterwards, or a Transaction loaded earlier
+    // in the same transaction keeps its pre-write state.
+
+    /**
+     * Deletes up to {@code limit} of the user's rows in one statement
+     *
+     * @return the number of rows deleted; 0 once the user has none left
+     */
+    @Modifying
+    @Query(value = "DELETE FROM transactions WHERE id IN "
+            + "(SELECT id FROM transactions WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Query(value = "DELETE FROM transactions WHERE id = :id AND user_id = :userId "
+            + "RETURNING user_id AS \"userId\", date AS \"date\", category AS \"category\", "
+            + "type AS \"type\", amount_paise AS \"amountPaise\"", nativeQuery = true)
+    Optional<RollupRow> deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Overwrites an owned row in place. A null {@code date} keeps the stored one.
+     *
+     * @return the previous rollup values and the resulting date, or empty if
+     *         the row does not exist or belongs to someone else
+     */
+    @Query(value = "WITH old AS (SELECT id, date, category, type, amount_paise FROM transactions "
+            + "WHERE id = :id AND user_id = :userId FOR UPDATE) "
+            + "UPDATE transactions t SET amount_paise = :amountPaise, category = :category, "
+            + "description = :description, type = :type, payment_method = :paymentMethod, "
+            + "date = COALESCE(CAST(:date AS timestamp), old.date) "
+            + "FROM old WHERE t.id = old.id "
+            + "RETURNING t.user_id AS \"userId\", old.date AS \"date\", old.category AS \"category\", "
+            + "old.type AS \"type\", old.amount_paise AS \"amountPaise\", t.date AS \"newDate\"",
+            nativeQuery = true)
+    Optional<UpdatedRow> updateOwned(@Param("id") Long id, @Param("userId") Long userId,
+            @Param("amountPaise") Long amountPaise, @Param("category") String category,
+            @Param("description") String description, @Param("type") String type,
+            @Param("paymentMethod") String paymentMethod, @Param("date") LocalDateTime date);
+
+    // ------------------- AGGREGATES -------------------
+    // All of these scan idx_transactions_user_date_id for one user and date range
+    // and return one row per group instead of entities.
+
+    @Query("SELECT lower(t.type) AS type, SUM(t.amountPaise) AS totalPaise, COUNT(t) AS count "
+            + "FROM Transaction t WHERE t.userId = :userId AND t.date >= :from AND t.date < :to "
+            + "GROUP BY lower(t.type)")
+    List<TypeTotal> sumByType(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT lower(t.type) AS type, t.category AS category, SUM(t.amountPaise) AS totalPaise, COUNT(t) AS count "
+            + "FROM Transaction t WHERE t.userId = :userId AND t.date >= :from AND t.date < :to "
+            + "GROUP BY lower(t.type), t.category ORDER BY SUM(t.amountPaise) DESC")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Period buckets: the date_trunc field has to be a literal to GROUP BY it, hence one query per interval
+    String PERIOD_TOTALS_SELECT = "SELECT to_char(date_trunc('";
+    String PERIOD_TOTALS_REST = "', t.date), 'YYYY-MM-DD') AS \"period\", "
+            + "lower(t.type) AS \"type\", CAST(SUM(t.amount_paise) AS BIGINT) AS \"totalPaise\", "
+            + "COUNT(*) AS \"count\" "
+            + "FROM transactions t WHERE t.user_id = :userId AND t.date >= :from AND t.date < :to "
+            + "GROUP BY 1, 2 ORDER BY 1, 2";
+
+    @Query(value = PERIOD_TOTALS_SELECT + "day" + PERIOD_TOTALS_REST, nativeQuery = true)
+    List<PeriodTotal> sumByDay(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // ISO weeks, starting on Monday
+    @Query(value = PERIOD_TOTALS_SELECT + "week" + PERIOD_TOTALS_REST, nativeQuery = true)
+    List<PeriodTotal> sumByWeek(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query(value = PERIOD_TOTALS_SELECT + "month" + PERIOD_TOTALS_REST, nativeQuery = true)
+    List<PeriodTotal> sumByMonth(@Param("userId") Long userId, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.description AS description, SUM(t.amountPaise) AS totalPaise, COUNT(t) AS count "
+            + "FROM Transaction t WHERE t.userId = :userId AND lower(t.type) = :type "
+            + "AND t.description IS NOT NULL AND t.date >= :from AND t.date < :to "
+            + "GROUP BY t.description ORDER BY SUM(t.amountPaise) DESC")
+    List<DescriptionTotal> topDescriptions(@Param("userId") Long userId, @Param("type") String type,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Limit limit);
+
+    interface FingerprintMatch {
+        String getFingerprint();
+
+        Long getId();
+    }
+
+    interface RollupRow {
+        Long getUserId();
+
+        LocalDateTime getDate();
+
+        String getCategory();
+
+        String getType();
+
+        Long getAmountPaise();
+    }
+
+    interface UpdatedRow extends RollupRow {
+        LocalDateTime getNewDate();
+    }
+
+    interface TypeTotal {
+        String getType();
+
+        Long getTotalPaise();
+
+        Long getCount();
+    }
+
+    interface CategoryTotal extends TypeTotal {
+        String getCategory();
+    }
+
+    interface PeriodTotal extends TypeTotal {
+        String getPeriod();
+    }
+
+    interface DescriptionTotal {
+        String getDescription();
+
+        Long getTotalPaise();
 
-    void deleteByUserId(Long userId);
+        Long getCount();
+    }
 }
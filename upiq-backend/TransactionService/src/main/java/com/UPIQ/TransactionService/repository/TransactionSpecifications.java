@@ -0,0 +1,61 @@
+package com.UPIQ.TransactionService.repository;
+
+import com.UPIQ.TransactionService.dto.TransactionFilter;
+import com.UPIQ.TransactionService.model.Transaction;
+import com.UPIQ.TransactionService.service.TransactionCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criteria for the keyset-paginated listing. Every query is led by user_id and
+ * ordered by (date desc, id desc), matching idx_transactions_user_date_id.
+ */
+public final class TransactionSpecifications {
+
+    public static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> page(Long userId, TransactionFilter filter, TransactionCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+
+            if (filter != null) {
+                if (filter.getFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("date"), filter.getFrom()));
+                }
+                if (filter.getTo() != null) {
+                    predicates.add(cb.lessThan(root.get("date"), filter.getTo()));
+                }
+                if (filter.getType() != null) {
+                    predicates.add(cb.equal(cb.lower(root.get("type")), filter.getType().toLowerCase(Locale.ROOT)));
+                }
+                if (filter.getCategory() != null) {
+                    predicates.add(cb.equal(cb.lower(root.get("category")),
+                            filter.getCategory().toLowerCase(Locale.ROOT)));
+                }
+                if (filter.getMinAmount() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("amountPaise"), filter.getMinAmount().getPaise()));
+                }
+                if (filter.getMaxAmount() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("amountPaise"), filter.getMaxAmount().getPaise()));
+                }
+            }
+
+            if (after != null) {
+                // (date, id) < (cursor.date, cursor.id) in descending order
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("date"), after.date()),
+                        cb.and(cb.equal(root.get("date"), after.date()), cb.lessThan(root.get("id"), after.id()))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
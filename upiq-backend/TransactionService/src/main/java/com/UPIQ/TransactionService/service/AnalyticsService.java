@@ -0,0 +1,27 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.dto.AnalyticsBucket;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Dashboard aggregates computed in the database. Ranges are [from, to); a
+ * null bound leaves that side open.
+ */
+public interface AnalyticsService {
+
+    List<AnalyticsBucket> totalsByType(Long userId, LocalDateTime from, LocalDateTime to);
+
+    List<AnalyticsBucket> totalsByCategory(Long userId, LocalDateTime from, LocalDateTime to);
+
+    List<AnalyticsBucket> trend(Long userId, String interval, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Stored monthly rollups, one row per month, type and category
+     */
+    List<AnalyticsBucket> monthly(Long userId, LocalDate fromMonth, LocalDate toMonth);
+
+    List<AnalyticsBucket> topMerchants(Long userId, LocalDateTime from, LocalDateTime to, int limit);
+}
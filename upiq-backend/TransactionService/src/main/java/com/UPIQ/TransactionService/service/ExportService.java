@@ -0,0 +1,18 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a user's whole transaction history, oldest first, without holding it
+ * in memory.
+ */
+public interface ExportService {
+
+    /**
+     * @return the number of transactions written
+     */
+    long export(Long userId, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,30 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.model.Transaction;
+
+import java.util.Collection;
+
+/**
+ * Maintains monthly_rollups. The record/unrecord calls must run inside the
+ * same database transaction as the write they mirror.
+ */
+public interface RollupService {
+
+    void record(Transaction transaction);
+
+    void recordAll(Collection<Transaction> transactions);
+
+    void unrecord(Transaction transaction);
+
+    void clearUser(Long userId);
+
+    /**
+     * Regenerates one user's rollups from the transactions table
+     */
+    void rebuildUser(Long userId);
+
+    /**
+     * Regenerates every rollup from the transactions table
+     */
+    void rebuildAll();
+}
@@ -0,0 +1,84 @@
+package com.UPIQ.TransactionService.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Identity of an imported transaction, independent of how it was formatted.
+ * <p>
+ * Built from the user, date, amount, type and either the payment reference
+ * or, when the statement has none, the description reduced to lower case
+ * letters and digits. Rows without a reference also carry their occurrence
+ * number among identical rows of the same import, so two genuine ₹20 teas at
+ * the same shop on one day stay two rows, yet importing that statement again
+ * matches both. Stored as a SHA-256 hex string under a unique index.
+ */
+public final class TransactionFingerprint {
+
+    public static final int LENGTH = 64;
+
+    private TransactionFingerprint() {
+    }
+
+    /**
+     * The part of the fingerprint that identical rows share, never null. Ends
+     * in {@code |ref:<REFERENCE>} when there is a reference, which
+     * {@link #of} hashes as is since a reference never repeats, and otherwise
+     * in {@code |desc:<normalized description>}, to which {@link #of} adds the
+     * occurrence.
+     */
+    public static String identity(Long userId, LocalDateTime date, long amountPaise, String type,
+            String reference, String description) {
+        StringBuilder sb = new StringBuilder(96)
+                .append(userId).append('|')
+                .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(date)).append('|')
+                .append(amountPaise).append('|')
+                .append(type == null ? "" : type.toLowerCase(Locale.ROOT)).append('|');
+        String ref = normalize(reference);
+        if (!ref.isEmpty()) {
+            return sb.append("ref:").append(ref.toUpperCase(Locale.ROOT)).toString();
+        }
+        return sb.append("desc:").append(normalize(description)).toString();
+    }
+
+    public static boolean isReferenceBased(String identity) {
+        return identity.contains("|ref:");
+    }
+
+    /**
+     * @param occurrence how many identical rows came before this one in the
+     *                   same import; always 0 for reference based identities
+     */
+    public static String of(String identity, int occurrence) {
+        String input = isReferenceBased(identity) ? identity : identity + '#' + occurrence;
+        return HexFormat.of().formatHex(sha256().digest(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // "Paid to  SWIGGY*Order-123" and "paid to swiggy order 123" are the same payee
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
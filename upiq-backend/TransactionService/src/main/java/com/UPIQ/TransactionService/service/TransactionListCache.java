@@ -0,0 +1,259 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the per-user transaction lists.
+ * <p>
+ * Entries are grouped by user so a write can drop every list of that user at
+ * once, whatever filters they were read with. The number of users held is
+ * bounded by {@code app.transactions.cache.max-users}; the eviction policy is
+ * {@code tinylfu} (Caffeine's W-TinyLFU) or {@code lru}. Hits, misses and
+ * evictions are published as {@code transactions.cache.*} meters.
+ * <p>
+ * Every eviction moves the user to a new generation. A list is only kept if
+ * the user's generation is the same after loading it as before, so a load
+ * that overlapped a write is served once but never cached.
+ */
+@Slf4j
+@Component
+public class TransactionListCache {
+
+    public static final String ALL = "all";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Store store;
+    private final AtomicLong lastGeneration = new AtomicLong();
+    // A forgotten generation comes back as a fresh one, which only costs a reload
+    private final Cache<Long, Long> generations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TransactionListCache(
+            @Value("${app.transactions.cache.enabled:true}") boolean enabled,
+            @Value("${app.transactions.cache.policy:tinylfu}") String policy,
+            @Value("${app.transactions.cache.max-users:10000}") int maxUsers,
+            @Value("${app.transactions.cache.ttl-minutes:10}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        int bound = Math.max(1, maxUsers);
+        this.store = switch (policy.toLowerCase(Locale.ROOT)) {
+            case "tinylfu" -> new CaffeineStore(bound, ttl, evictions);
+            case "lru" -> new LruStore(bound, evictions);
+            default -> throw new IllegalArgumentException(
+                    "Unknown app.transactions.cache.policy '" + policy + "', expected tinylfu or lru");
+        };
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(bound)
+                .expireAfterAccess(ttl)
+                .build();
+        registerMeters(meterRegistry, policy.toLowerCase(Locale.ROOT));
+        log.info("Transaction list cache {} ({} policy, {} users, {} min TTL)",
+                enabled ? "enabled" : "disabled", policy, bound, ttlMinutes);
+    }
+
+    public static String byCategory(String category) {
+        // Category lookups ignore case, so the key does as well
+        return "category:" + (category == null ? "" : category.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return the cached list for this user and query, loading it on a miss
+     */
+    public List<TransactionResponse> get(Long userId, String query, Supplier<List<TransactionResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        UserEntries user = store.get(userId);
+        if (user != null) {
+            List<TransactionResponse> cached = user.lists.get(query);
+            if (cached != null && Instant.now().isBefore(user.expiresAt)) {
+                hits.increment();
+                return cached;
+            }
+        }
+
+        misses.increment();
+        long generation = generation(userId);
+        List<TransactionResponse> loaded = List.copyOf(loader.get());
+        if (generation(userId) != generation) {
+            // A write landed while loading; the rows may predate it
+            return loaded;
+        }
+        user = store.get(userId);
+        if (user == null || !Instant.now().isBefore(user.expiresAt)) {
+            user = new UserEntries(Instant.now().plus(ttl));
+            store.put(userId, user);
+        }
+        user.lists.put(query, loaded);
+        if (generation(userId) != generation) {
+            // Evicted between the check and the put; invalidate() bumps before it removes,
+            // so one of the two always sees the other
+            user.lists.remove(query, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops every cached list of the user. Inside a transaction the entries are
+     * dropped again after commit, so a read that raced the write cannot leave
+     * pre-commit rows behind.
+     */
+    public void evictUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(userId);
+                }
+            });
+        }
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId, id -> lastGeneration.incrementAndGet());
+    }
+
+    private void invalidate(Long userId) {
+        generations.put(userId, lastGeneration.incrementAndGet());
+        if (store.remove(userId)) {
+            invalidations.increment();
+        }
+    }
+
+    private void registerMeters(MeterRegistry registry, String policy) {
+        FunctionCounter.builder("transactions.cache.hits", hits, LongAdder::sum)
+                .tag("policy", policy).description("Transaction list reads served from cache").register(registry);
+        FunctionCounter.builder("transactions.cache.misses", misses, LongAdder::sum)
+                .tag("policy", policy).description("Transaction list reads that went to the database").register(registry);
+        FunctionCounter.builder("transactions.cache.evictions", evictions, LongAdder::sum)
+                .tag("policy", policy).description("Users evicted to stay within the size bound").register(registry);
+        FunctionCounter.builder("transactions.cache.invalidations", invalidations, LongAdder::sum)
+                .tag("policy", policy).description("Users dropped because their transactions changed").register(registry);
+        Gauge.builder("transactions.cache.users", store, Store::size)
+                .tag("policy", policy).description("Users currently cached").register(registry);
+    }
+
+    private static final class UserEntries {
+        private final Instant expiresAt;
+        private final Map<String, List<TransactionResponse>> lists = new ConcurrentHashMap<>();
+
+        private UserEntries(Instant expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private interface Store {
+        UserEntries get(Long userId);
+
+        void put(Long userId, UserEntries entries);
+
+        boolean remove(Long userId);
+
+        long size();
+    }
+
+    private static final class CaffeineStore implements Store {
+        private final Cache<Long, UserEntries> cache;
+
+        private CaffeineStore(int maxUsers, Duration ttl, LongAdder evictions) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfterWrite(ttl)
+                    .removalListener((Long key, UserEntries value, RemovalCause cause) -> {
+                        if (cause == RemovalCause.SIZE) {
+                            evictions.increment();
+                        }
+                    })
+                    .build();
+        }
+
+        @Override
+        public UserEntries get(Long userId) {
+            return cache.getIfPresent(userId);
+        }
+
+        @Override
+        public void put(Long userId, UserEntries entries) {
+            cache.put(userId, entries);
+        }
+
+        @Override
+        public boolean remove(Long userId) {
+            return cache.asMap().remove(userId) != null;
+        }
+
+        @Override
+        public long size() {
+            return cache.estimatedSize();
+        }
+    }
+
+    private static final class LruStore implements Store {
+        private final Map<Long, UserEntries> entries;
+
+        private LruStore(int maxUsers, LongAdder evictions) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserEntries> eldest) {
+                    if (size() > maxUsers) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        @Override
+        public synchronized UserEntries get(Long userId) {
+            return entries.get(userId);
+        }
+
+        @Override
+        public synchronized void put(Long userId, UserEntries entries) {
+            this.entries.put(userId, entries);
+        }
+
+        @Override
+        public synchronized boolean remove(Long userId) {
+            return entries.remove(userId) != null;
+        }
+
+        @Override
+        public synchronized long size() {
+            return entries.size();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.UPIQ.TransactionService.service;
 
+import com.UPIQ.TransactionService.dto.BulkTransactionResponse;
+import com.UPIQ.TransactionService.dto.TransactionFilter;
+import com.UPIQ.TransactionService.dto.TransactionPage;
 import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.UPIQ.TransactionService.dto.TransactionSearchPage;
 
 import java.util.List;
 
@@ -8,10 +12,17 @@ public interface TransactionService {
 
     TransactionResponse addTransaction(com.UPIQ.TransactionService.dto.CreateTransactionRequest request, Long userId);
 
+    BulkTransactionResponse addTransactions(List<com.UPIQ.TransactionService.dto.CreateTransactionRequest> requests,
+            Long userId);
+
     List<TransactionResponse> getUserTransactions(Long userId);
 
+    TransactionPage getUserTransactionsPage(Long userId, TransactionFilter filter, String cursor, int size);
+
     List<TransactionResponse> getUserTransactionsByCategory(Long userId, String category);
 
+    TransactionSearchPage searchTransactions(Long userId, String query, int page, int size);
+
     void deleteTransaction(Long id, Long userId);
 
     TransactionResponse getById(Long id, Long userId);
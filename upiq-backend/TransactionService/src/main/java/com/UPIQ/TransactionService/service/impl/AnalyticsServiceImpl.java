@@ -0,0 +1,134 @@
+package com.UPIQ.TransactionService.service.impl;
+
+import com.UPIQ.TransactionService.dto.AnalyticsBucket;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.repository.MonthlyRollupRepository;
+import com.UPIQ.TransactionService.repository.TransactionRepository;
+import com.UPIQ.TransactionService.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final LocalDateTime OPEN_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime OPEN_TO = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final int MAX_MERCHANTS = 100;
+
+    // Types are stored as sent (Expense, EXPENSE, ...); the queries compare lower(type) to this
+    private static final String EXPENSE = "expense";
+
+    private final TransactionRepository repository;
+    private final MonthlyRollupRepository rollupRepository;
+
+    // Whole-month ranges (including open ones) are answered from monthly_rollups
+
+    @Override
+    public List<AnalyticsBucket> totalsByType(Long userId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = orOpenFrom(from);
+        LocalDateTime end = orOpenTo(to);
+        List<? extends TransactionRepository.TypeTotal> rows = isMonthAligned(from, to)
+                ? rollupRepository.sumByType(userId, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByType(userId, start, end);
+        return rows.stream()
+                .map(row -> AnalyticsBucket.builder()
+                        .type(row.getType())
+                        .total(Money.ofPaise(row.getTotalPaise()))
+                        .count(row.getCount())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<AnalyticsBucket> totalsByCategory(Long userId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = orOpenFrom(from);
+        LocalDateTime end = orOpenTo(to);
+        List<? extends TransactionRepository.CategoryTotal> rows = isMonthAligned(from, to)
+                ? rollupRepository.sumByCategory(userId, start.toLocalDate(), end.toLocalDate())
+                : repository.sumByCategory(userId, start, end);
+        return rows.stream()
+                .map(row -> AnalyticsBucket.builder()
+                        .type(row.getType())
+                        .category(row.getCategory())
+                        .total(Money.ofPaise(row.getTotalPaise()))
+                        .count(row.getCount())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<AnalyticsBucket> trend(Long userId, String interval, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = orOpenFrom(from);
+        LocalDateTime end = orOpenTo(to);
+        String unit = interval == null ? "month" : interval.toLowerCase(Locale.ROOT);
+        List<TransactionRepository.PeriodTotal> rows = switch (unit) {
+            case "day" -> repository.sumByDay(userId, start, end);
+            case "week" -> repository.sumByWeek(userId, start, end);
+            case "month" -> repository.sumByMonth(userId, start, end);
+            default -> throw new IllegalArgumentException("Interval must be one of day, week or month");
+        };
+        return rows.stream()
+                .map(row -> AnalyticsBucket.builder()
+                        .period(LocalDate.parse(row.getPeriod()))
+                        .type(row.getType())
+                        .total(Money.ofPaise(row.getTotalPaise()))
+                        .count(row.getCount())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<AnalyticsBucket> monthly(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+        LocalDate start = fromMonth != null ? fromMonth.withDayOfMonth(1) : OPEN_FROM.toLocalDate();
+        LocalDate end = toMonth != null ? toMonth.withDayOfMonth(1).plusMonths(1) : OPEN_TO.toLocalDate();
+        return rollupRepository.findRange(userId, start, end).stream()
+                .map(rollup -> AnalyticsBucket.builder()
+                        .period(rollup.getId().getMonthStart())
+                        .type(rollup.getId().getType())
+                        .category(rollup.getId().getCategory())
+                        .total(Money.ofPaise(rollup.getTotalPaise()))
+                        .count(rollup.getTxCount())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public List<AnalyticsBucket> topMerchants(Long userId, LocalDateTime from, LocalDateTime to, int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_MERCHANTS));
+        return repository.topDescriptions(userId, EXPENSE, orOpenFrom(from), orOpenTo(to), Limit.of(max)).stream()
+                .map(row -> AnalyticsBucket.builder()
+                        .description(row.getDescription())
+                        .total(Money.ofPaise(row.getTotalPaise()))
+                        .count(row.getCount())
+                        .build())
+                .toList();
+    }
+
+    // An open (null) bound is aligned whatever its sentinel value
+    private static boolean isMonthAligned(LocalDateTime from, LocalDateTime to) {
+        return (from == null || isMonthStart(from)) && (to == null || isMonthStart(to));
+    }
+
+    private static boolean isMonthStart(LocalDateTime dateTime) {
+        return dateTime.getDayOfMonth() == 1 && dateTime.toLocalTime().equals(LocalTime.MIDNIGHT);
+    }
+
+    private static LocalDateTime orOpenFrom(LocalDateTime from) {
+        return from != null ? from : OPEN_FROM;
+    }
+
+    private static LocalDateTime orOpenTo(LocalDateTime to) {
+        return to != null ? to : OPEN_TO;
+    }
+}
@@ -0,0 +1,122 @@
+package com.UPIQ.TransactionService.service.impl;
+
+import com.UPIQ.TransactionService.dto.ExportFormat;
+import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.model.Transaction;
+import com.UPIQ.TransactionService.repository.TransactionRepository;
+import com.UPIQ.TransactionService.service.ExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final String CSV_HEADER = "id,date,type,category,description,amount,paymentMethod\n";
+
+    private final TransactionRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // Read-only so the connection leaves autocommit, which the PostgreSQL driver needs to honour the fetch size
+    @Override
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        ObjectWriter jsonWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try (Stream<Transaction> rows = repository.streamByUserId(userId)) {
+            Iterator<Transaction> it = rows.iterator();
+            while (it.hasNext()) {
+                Transaction transaction = it.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, transaction);
+                } else {
+                    jsonWriter.writeValue(writer, toResponse(transaction));
+                    writer.write('\n');
+                }
+                // Nothing is written back, so drop each row once it is out
+                entityManager.detach(transaction);
+                written++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} transactions as {} for userId: {}", written, format, userId);
+        return written;
+    }
+
+    private static void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(transaction.getDate()));
+        writer.write(',');
+        writeCsvField(writer, transaction.getType());
+        writer.write(',');
+        writeCsvField(writer, transaction.getCategory());
+        writer.write(',');
+        writeCsvField(writer, transaction.getDescription());
+        writer.write(',');
+        writer.write(Money.ofPaise(transaction.getAmountPaise()).toString());
+        writer.write(',');
+        writeCsvField(writer, transaction.getPaymentMethod());
+        writer.write('\n');
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static TransactionResponse toResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .id(transaction.getId())
+                .userId(transaction.getUserId())
+                .amount(Money.ofPaise(transaction.getAmountPaise()))
+                .type(transaction.getType())
+                .category(transaction.getCategory())
+                .description(transaction.getDescription())
+                .date(transaction.getDate())
+                .paymentMethod(transaction.getPaymentMethod())
+                .build();
+    }
+}
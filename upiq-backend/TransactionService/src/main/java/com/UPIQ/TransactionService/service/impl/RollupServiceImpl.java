@@ -0,0 +1,101 @@
+package com.UPIQ.TransactionService.service.impl;
+
+import com.UPIQ.TransactionService.model.Transaction;
+import com.UPIQ.TransactionService.repository.MonthlyRollupRepository;
+import com.UPIQ.TransactionService.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class RollupServiceImpl implements RollupService {
+
+    private final MonthlyRollupRepository rollupRepository;
+
+    @Override
+    public void record(Transaction transaction) {
+        Key key = Key.of(transaction);
+        rollupRepository.applyDelta(key.userId, key.monthStart, key.category, key.type,
+                1, transaction.getAmountPaise());
+    }
+
+    @Override
+    public void recordAll(Collection<Transaction> transactions) {
+        // One upsert per bucket rather than per row; a statement usually spans a few dozen buckets
+        Map<Key, long[]> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            long[] delta = deltas.computeIfAbsent(Key.of(transaction), k -> new long[2]);
+            delta[0]++;
+            delta[1] += transaction.getAmountPaise();
+        }
+        deltas.forEach((key, delta) -> rollupRepository.applyDelta(key.userId, key.monthStart, key.category,
+                key.type, delta[0], delta[1]));
+    }
+
+    @Override
+    public void unrecord(Transaction transaction) {
+        Key key = Key.of(transaction);
+        rollupRepository.applyDelta(key.userId, key.monthStart, key.category, key.type,
+                -1, -transaction.getAmountPaise());
+        rollupRepository.deleteIfEmpty(key.userId, key.monthStart, key.category, key.type);
+    }
+
+    @Override
+    public void clearUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildUser(Long userId) {
+        rollupRepository.lockAgainstWriters();
+        rollupRepository.deleteByUserId(userId);
+        int rows = rollupRepository.rebuildForUser(userId);
+        log.info("Rebuilt {} monthly rollups for userId: {}", rows, userId);
+    }
+
+    /**
+     * Seeds the table on first start against an existing database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.rollups.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        rollupRepository.lockAgainstWriters();
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.rebuildAllRows();
+        log.info("Rebuilt {} monthly rollups in {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    private record Key(Long userId, LocalDate monthStart, String category, String type) {
+        static Key of(Transaction transaction) {
+            return new Key(transaction.getUserId(),
+                    transaction.getDate().toLocalDate().withDayOfMonth(1),
+                    transaction.getCategory(),
+                    transaction.getType().toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -1,31 +1,91 @@
 package com.UPIQ.TransactionService.service.impl;
 
+import com.UPIQ.TransactionService.dto.BulkRowResult;
+import com.UPIQ.TransactionService.dto.BulkTransactionResponse;
 import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.dto.TransactionFilter;
+import com.UPIQ.TransactionService.dto.TransactionPage;
 import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.UPIQ.TransactionService.dto.TransactionSearchPage;
 import com.UPIQ.TransactionService.exceptions.TransactionNotFoundException;
+import com.UPIQ.TransactionService.model.Money;
 import com.UPIQ.TransactionService.model.Transaction;
 import com.UPIQ.TransactionService.repository.TransactionRepository;
+import com.UPIQ.TransactionService.repository.TransactionRepository.FingerprintMatch;
+import com.UPIQ.TransactionService.repository.TransactionRepository.RollupRow;
+import com.UPIQ.TransactionService.repository.TransactionRepository.UpdatedRow;
+import com.UPIQ.TransactionService.repository.TransactionSpecifications;
+import com.UPIQ.TransactionService.service.RollupService;
+import com.UPIQ.TransactionService.service.TransactionCursor;
+import com.UPIQ.TransactionService.service.TransactionFingerprint;
+import com.UPIQ.TransactionService.service.TransactionListCache;
 import com.UPIQ.TransactionService.service.TransactionService;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @org.springframework.transaction.annotation.Transactional
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
     private final TransactionRepository repository;
+    private final RollupService rollupService;
+    private final TransactionListCache listCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final int batchSize;
+    private final int deleteChunkSize;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean trigramSearch;
+
+    public TransactionServiceImpl(TransactionRepository repository, RollupService rollupService,
+            TransactionListCache listCache, EntityManager entityManager, Validator validator,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize,
+            @Value("${app.transactions.delete-chunk-size:5000}") int deleteChunkSize) {
+        this.repository = repository;
+        this.rollupService = rollupService;
+        this.listCache = listCache;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+        this.deleteChunkSize = Math.max(1, deleteChunkSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public TransactionResponse addTransaction(CreateTransactionRequest request, Long userId) {
         Transaction transaction = Transaction.builder()
-                .amount(request.getAmount())
+                .amountPaise(request.getAmount().getPaise())
                 .category(request.getCategory())
                 .description(request.getDescription())
                 .type(request.getType())
@@ -33,55 +93,335 @@ public class TransactionServiceImpl implements TransactionService {
                 .userId(userId)
                 .build();
 
-        if (request.getDate() != null && !request.getDate().isEmpty()) {
-            try {
-                // Support multiple formats: ISO with 'Z', without 'T', etc.
-                String dateStr = request.getDate().replace("Z", "");
-                if (!dateStr.contains("T") && dateStr.contains(" ")) {
-                    dateStr = dateStr.replace(" ", "T");
-                }
-                transaction.setDate(LocalDateTime.parse(dateStr));
-            } catch (Exception e) {
-                log.warn("Failed to parse date: {}, using current time", request.getDate());
-                transaction.setDate(LocalDateTime.now());
+        transaction.setDate(parseDate(request.getDate()));
+
+        // Only a payment reference makes a manual entry identifiable; without one, repeats are allowed.
+        // Nor without a date: the one filled in here differs on every call, so it could never match.
+        if (request.getReference() != null && !request.getReference().isBlank()
+                && tryParseDate(request.getDate()) != null) {
+            transaction.setFingerprint(fingerprint(transaction, request.getReference(), 0));
+            List<FingerprintMatch> existing = repository.findByFingerprints(userId,
+                    List.of(transaction.getFingerprint()));
+            if (!existing.isEmpty()) {
+                log.info("Transaction with reference {} already exists for userId: {}", request.getReference(), userId);
+                return getById(existing.get(0).getId(), userId);
             }
-        } else {
-            transaction.setDate(LocalDateTime.now());
         }
+
         log.info("Adding new {} transaction for userId: {}, Amount: {}, Category: {}",
                 request.getType(), userId, request.getAmount(), request.getCategory());
         transaction = repository.save(transaction);
+        rollupService.record(transaction);
+        listCache.evictUser(userId);
         log.debug("Successfully created transaction with id: {}", transaction.getId());
         return mapToResponse(transaction);
     }
 
+    /**
+     * Each JDBC batch commits in its own transaction, so a failure leaves the
+     * batches before it stored, just as the per-row results report them.
+     */
     @Override
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransactionResponse addTransactions(List<CreateTransactionRequest> requests, Long userId) {
+        List<BulkRowResult> results = new ArrayList<>(requests.size());
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        List<BulkRowResult> batchResults = new ArrayList<>(batchSize);
+        Map<String, Integer> occurrences = new HashMap<>();
+        Map<String, BulkRowResult> inRequest = new HashMap<>();
+        Map<BulkRowResult, BulkRowResult> repeats = new LinkedHashMap<>();
+        int created = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTransactionRequest request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results.add(BulkRowResult.builder().index(i).success(false).error(error).build());
+                continue;
+            }
+
+            BulkRowResult result = BulkRowResult.builder().index(i).success(true).build();
+            results.add(result);
+            Transaction transaction = toEntity(request, userId);
+            // As with a manual entry, a row without a date is stored under now() and not
+            // fingerprinted: that date differs on every import, so it could never match
+            if (tryParseDate(request.getDate()) != null) {
+                String identity = identity(transaction, request.getReference());
+                int occurrence = occurrences.merge(identity, 1, Integer::sum) - 1;
+                transaction.setFingerprint(TransactionFingerprint.of(identity, occurrence));
+
+                // The same reference twice in one request is one payment listed twice
+                BulkRowResult first = inRequest.putIfAbsent(transaction.getFingerprint(), result);
+                if (first != null) {
+                    result.setDuplicate(true);
+                    repeats.put(result, first);
+                    continue;
+                }
+            }
+            batch.add(transaction);
+            batchResults.add(result);
+
+            if (batch.size() == batchSize) {
+                created += flushBatch(userId, batch, batchResults);
+            }
+        }
+        created += flushBatch(userId, batch, batchResults);
+        repeats.forEach((repeat, first) -> repeat.setId(first.getId()));
+        if (created > 0) {
+            listCache.evictUser(userId);
+        }
+
+        int skipped = (int) results.stream().filter(BulkRowResult::isDuplicate).count();
+        log.info("Bulk added {} of {} transactions for userId: {}, {} already imported",
+                created, requests.size(), userId, skipped);
+        return BulkTransactionResponse.builder()
+                .received(requests.size())
+                .created(created)
+                .skipped(skipped)
+                .failed(requests.size() - created - skipped)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Writes one JDBC batch in its own transaction, so the persistence context
+     * stays small however many rows the request has. Rows already stored are
+     * found with a single IN query on the fingerprint index and left out.
+     * <p>
+     * An import of the same statement running alongside can store a row
+     * between that lookup and the insert. The unique fingerprint index then
+     * rejects the batch; it is rolled back and retried, and the new lookup
+     * marks those rows as duplicates.
+     */
+    private int flushBatch(Long userId, List<Transaction> batch, List<BulkRowResult> batchResults) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertBatch(userId, batch, batchResults));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Bulk insert for userId: {} hit rows stored concurrently, retrying the batch", userId);
+                // The rolled back insert had already assigned ids
+                batch.forEach(transaction -> transaction.setId(null));
+            }
+        }
+    }
+
+    private int insertBatch(Long userId, List<Transaction> batch, List<BulkRowResult> batchResults) {
+        List<String> fingerprints = batch.stream()
+                .map(Transaction::getFingerprint)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<String, Long> existing = fingerprints.isEmpty() ? Map.of()
+                : repository.findByFingerprints(userId, fingerprints).stream()
+                        .collect(Collectors.toMap(FingerprintMatch::getFingerprint, FingerprintMatch::getId));
+        if (!existing.isEmpty()) {
+            for (int j = batch.size() - 1; j >= 0; j--) {
+                Long id = existing.get(batch.get(j).getFingerprint());
+                if (id != null) {
+                    batch.remove(j);
+                    BulkRowResult duplicate = batchResults.remove(j);
+                    duplicate.setDuplicate(true);
+                    duplicate.setId(id);
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+        }
+
+        repository.saveAll(batch);
+        rollupService.recordAll(batch);
+        repository.flush();
+        for (int j = 0; j < batch.size(); j++) {
+            batchResults.get(j).setId(batch.get(j).getId());
+        }
+        entityManager.clear();
+
+        int written = batch.size();
+        batch.clear();
+        batchResults.clear();
+        return written;
+    }
+
+    private String validate(CreateTransactionRequest request) {
+        if (request == null) {
+            return "Transaction is required";
+        }
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Transaction toEntity(CreateTransactionRequest request, Long userId) {
+        return Transaction.builder()
+                .amountPaise(request.getAmount().getPaise())
+                .category(request.getCategory())
+                .description(request.getDescription())
+                .type(request.getType())
+                .paymentMethod(request.getPaymentMethod())
+                .userId(userId)
+                .date(parseDate(request.getDate()))
+                .build();
+    }
+
+    private static String identity(Transaction transaction, String reference) {
+        return TransactionFingerprint.identity(transaction.getUserId(), transaction.getDate(),
+                transaction.getAmountPaise(), transaction.getType(), reference, transaction.getDescription());
+    }
+
+    private static String fingerprint(Transaction transaction, String reference, int occurrence) {
+        return TransactionFingerprint.of(identity(transaction, reference), occurrence);
+    }
+
+    private LocalDateTime parseDate(String date) {
+        if (date == null || date.isEmpty()) {
+            return LocalDateTime.now();
+        }
+        LocalDateTime parsed = tryParseDate(date);
+        if (parsed == null) {
+            log.warn("Failed to parse date: {}, using current time", date);
+            return LocalDateTime.now();
+        }
+        return parsed;
+    }
+
+    private static LocalDateTime tryParseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            // Support multiple formats: ISO with 'Z', without 'T', etc.
+            String dateStr = date.replace("Z", "");
+            if (!dateStr.contains("T") && dateStr.contains(" ")) {
+                dateStr = dateStr.replace(" ", "T");
+            }
+            return LocalDateTime.parse(dateStr);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Cache hits should not open a transaction (and borrow a connection) at all
+    @Override
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TransactionResponse> getUserTransactions(Long userId) {
-        List<Transaction> transactions = repository.findByUserIdOrderByDateDesc(userId);
-        return transactions.stream()
+        return listCache.get(userId, TransactionListCache.ALL, () -> repository.findByUserIdOrderByDateDesc(userId)
+                .stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TransactionPage getUserTransactionsPage(Long userId, TransactionFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TransactionCursor after = cursor != null && !cursor.isBlank() ? TransactionCursor.decode(cursor) : null;
+
+        // One extra row tells us whether another page exists, without a count query
+        List<Transaction> rows = repository.findBy(TransactionSpecifications.page(userId, filter, after),
+                q -> q.sortBy(TransactionSpecifications.KEYSET_ORDER).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Transaction> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId()).encode();
+        }
+
+        return TransactionPage.builder()
+                .items(pageRows.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .size(pageRows.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TransactionResponse> getUserTransactionsByCategory(Long userId, String category) {
-        List<Transaction> transactions = repository.findByUserIdAndCategoryIgnoreCase(userId, category);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return listCache.get(userId, TransactionListCache.byCategory(category),
+                () -> repository.findByUserIdAndCategoryIgnoreCase(userId, category)
+                        .stream()
+                        .map(this::mapToResponse)
+                        .collect(Collectors.toList()));
     }
 
     @Override
-    public void deleteTransaction(Long id, Long userId) {
-        Transaction transaction = repository.findById(id)
-                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id));
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public TransactionSearchPage searchTransactions(Long userId, String query, int page, int size) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        String pattern = "%" + escapeLike(q) + "%";
 
-        // Security check: Ensure user owns the transaction
-        if (!transaction.getUserId().equals(userId)) {
-            throw new RuntimeException("Unauthorized: You do not own this transaction");
+        List<Transaction> pageRows;
+        boolean hasMore;
+        if (isTrigramSearchAvailable()) {
+            // One extra row tells us whether another page exists
+            List<Transaction> rows = repository.searchRanked(userId, q, pattern, pageSize + 1,
+                    (long) pageNumber * pageSize);
+            hasMore = rows.size() > pageSize;
+            pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        } else {
+            Slice<Transaction> slice = repository.searchByPattern(userId, pattern, PageRequest.of(pageNumber, pageSize));
+            hasMore = slice.hasNext();
+            pageRows = slice.getContent();
+        }
+        return TransactionSearchPage.builder()
+                .query(query)
+                .items(pageRows.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .page(pageNumber)
+                .size(pageRows.size())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Ranked search needs PostgreSQL with pg_trgm; anything else (test
+     * databases, a server without the extension) gets plain substring search
+     */
+    private boolean isTrigramSearchAvailable() {
+        Boolean available = trigramSearch;
+        if (available == null) {
+            Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            available = dialect instanceof PostgreSQLDialect && repository.countTrigramExtension() > 0;
+            if (!available) {
+                log.warn("pg_trgm is not available, transaction search falls back to substring matching");
+            }
+            trigramSearch = available;
         }
+        return available;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public void deleteTransaction(Long id, Long userId) {
         log.info("Deleting transaction with id: {} for userId: {}", id, userId);
-        repository.delete(transaction);
+        RollupRow deleted = repository.deleteOwned(id, userId)
+                .orElseThrow(() -> missingOrForeign(id, "Unauthorized: You do not own this transaction"));
+        // Not @Modifying (see TransactionRepository), so drop whatever this transaction loaded before
+        entityManager.clear();
+        rollupService.unrecord(rollupEntry(deleted, deleted.getDate()));
+        listCache.evictUser(userId);
         log.debug("Transaction {} deleted successfully", id);
     }
 
@@ -99,44 +439,90 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     public TransactionResponse updateTransaction(Long id, CreateTransactionRequest request, Long userId) {
-        Transaction transaction = repository.findById(id)
-                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id));
-
-        // Security check: Ensure user owns transaction or is admin (assuming user check
-        // is enough for now)
-        if (!transaction.getUserId().equals(userId)) {
-            throw new RuntimeException("Unauthorized update attempt");
-        }
-
-        transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
-        transaction.setDescription(request.getDescription());
-        transaction.setType(request.getType());
-        transaction.setPaymentMethod(request.getPaymentMethod());
-
+        LocalDateTime date = null;
         if (request.getDate() != null && !request.getDate().isEmpty()) {
             String dateStr = request.getDate().replace("Z", "");
-            transaction.setDate(LocalDateTime.parse(dateStr));
+            date = LocalDateTime.parse(dateStr);
         }
 
         log.info("Updating transaction with id: {} for userId: {}", id, userId);
-        Transaction updated = repository.save(transaction);
+        UpdatedRow previous = repository.updateOwned(id, userId, request.getAmount().getPaise(),
+                        request.getCategory(), request.getDescription(), request.getType(),
+                        request.getPaymentMethod(), date)
+                .orElseThrow(() -> missingOrForeign(id, "Unauthorized update attempt"));
+        entityManager.clear();
+
+        Transaction updated = Transaction.builder()
+                .id(id)
+                .userId(userId)
+                .amountPaise(request.getAmount().getPaise())
+                .type(request.getType())
+                .category(request.getCategory())
+                .description(request.getDescription())
+                .date(previous.getNewDate())
+                .paymentMethod(request.getPaymentMethod())
+                .build();
+
+        // Move the old values out of their rollup bucket and the new ones in
+        rollupService.unrecord(rollupEntry(previous, previous.getDate()));
+        rollupService.record(updated);
+        listCache.evictUser(userId);
         log.debug("Transaction {} updated successfully", id);
         return mapToResponse(updated);
     }
 
+    /**
+     * Conditional writes match nothing both for unknown ids and for other
+     * users' rows; only this failure path pays for telling the two apart
+     */
+    private RuntimeException missingOrForeign(Long id, String unauthorizedMessage) {
+        if (repository.existsById(id)) {
+            return new RuntimeException(unauthorizedMessage);
+        }
+        return new TransactionNotFoundException("Transaction not found with id: " + id);
+    }
+
+    private static Transaction rollupEntry(RollupRow row, LocalDateTime date) {
+        return Transaction.builder()
+                .userId(row.getUserId())
+                .amountPaise(row.getAmountPaise())
+                .type(row.getType())
+                .category(row.getCategory())
+                .date(date)
+                .build();
+    }
+
     // ... end of updateTransaction method ...
 
+    /**
+     * Deletes the user's rows {@code app.transactions.delete-chunk-size} at a
+     * time, each chunk in its own transaction, so wiping a large account never
+     * holds one long lock or loads the rows into memory. The rollups go in the
+     * last transaction; if the wipe is interrupted the nightly rebuild
+     * reconciles them.
+     */
     @Override
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteAllTransactions(Long userId) {
-        repository.deleteByUserId(userId);
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> repository.deleteChunkByUserId(userId, deleteChunkSize));
+            deleted += chunk;
+        } while (chunk == deleteChunkSize);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            rollupService.clearUser(userId);
+            listCache.evictUser(userId);
+        });
+        log.info("Deleted {} transactions for userId: {}", deleted, userId);
     }
 
     private TransactionResponse mapToResponse(Transaction transaction) {
         return TransactionResponse.builder()
                 .id(transaction.getId())
                 .userId(transaction.getUserId())
-                .amount(transaction.getAmount())
+                .amount(Money.ofPaise(transaction.getAmountPaise()))
                 .type(transaction.getType())
                 .category(transaction.getCategory())
                 .description(transaction.getDescription())
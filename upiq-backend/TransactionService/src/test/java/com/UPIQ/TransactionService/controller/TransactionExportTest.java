@@ -0,0 +1,133 @@
+package com.UPIQ.TransactionService.controller;
+
+import com.UPIQ.TransactionService.PostgresIntegrationTest;
+import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.repository.TransactionRepository;
+import com.UPIQ.TransactionService.service.TransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@AutoConfigureMockMvc
+class TransactionExportTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testCsvQuotesFieldsThatNeedIt() throws Exception {
+        long userId = newUserId();
+        add(userId, transaction(12_345, "2025-03-02T08:30:00", "Dinner, \"Bob's\"\nparty"));
+        add(userId, transaction(500, "2025-03-01T09:00:00", "Tea"));
+
+        String[] lines = export(userId, "csv").split("\n", -1);
+
+        assertEquals("id,date,type,category,description,amount,paymentMethod", lines[0]);
+        // Oldest first; the quoted description spans two physical lines
+        assertTrue(lines[1].endsWith(",2025-03-01T09:00:00,expense,Food,Tea,5.00,UPI"), lines[1]);
+        assertTrue(lines[2].endsWith(",2025-03-02T08:30:00,expense,Food,\"Dinner, \"\"Bob's\"\""), lines[2]);
+        assertEquals("party\",123.45,UPI", lines[3]);
+        assertEquals("", lines[4]);
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerLine() throws Exception {
+        long userId = newUserId();
+        add(userId, transaction(12_345, "2025-03-02T08:30:00", "Line\nbreak"));
+        add(userId, transaction(500, "2025-03-01T09:00:00", null));
+
+        String[] lines = export(userId, "ndjson").split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        // Amounts keep both paise digits, as in every other response
+        assertTrue(lines[0].contains("\"amount\":5.00"), lines[0]);
+        assertEquals(userId, first.get("userId").asLong());
+        assertEquals("Line\nbreak", second.get("description").asText());
+    }
+
+    @Test
+    void testExportStreamsHistoryLongerThanOneFetch() throws Exception {
+        long userId = newUserId();
+        int rows = Integer.parseInt(TransactionRepository.EXPORT_FETCH_SIZE) * 2 + 7;
+        List<CreateTransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            requests.add(transaction(100 + i, String.format("2025-01-01T00:%02d:%02d", i / 60 % 60, i % 60),
+                    "Row " + i));
+        }
+        transactionService.addTransactions(requests, userId);
+
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .header("X-User-Id", userId)
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(rows, lines.length);
+        assertEquals("Row 0", objectMapper.readTree(lines[0]).get("description").asText());
+        assertEquals("Row " + (rows - 1), objectMapper.readTree(lines[rows - 1]).get("description").asText());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/transactions/export")
+                        .header("X-User-Id", newUserId())
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(long userId, String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .header("X-User-Id", userId)
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + format + "\""))
+                .andReturn();
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private void add(long userId, CreateTransactionRequest request) {
+        transactionService.addTransaction(request, userId);
+    }
+
+    private static CreateTransactionRequest transaction(long paise, String date, String description) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(Money.ofPaise(paise));
+        request.setType("expense");
+        request.setCategory("Food");
+        request.setDescription(description);
+        request.setPaymentMethod("UPI");
+        request.setDate(date);
+        return request;
+    }
+}
@@ -0,0 +1,61 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.PostgresIntegrationTest;
+import com.UPIQ.TransactionService.dto.AnalyticsBucket;
+import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Test
+    void testTopMerchantsCountsExpensesWhateverTheirCase() {
+        long userId = newUserId();
+        add(userId, "expense", 10_000, "Swiggy");
+        add(userId, "Expense", 20_000, "Swiggy");
+        add(userId, "EXPENSE", 5_000, "Uber");
+        add(userId, "INCOME", 90_000, "Salary");
+
+        List<AnalyticsBucket> merchants = analyticsService.topMerchants(userId, null, null, 10);
+
+        assertEquals(2, merchants.size());
+        assertEquals("Swiggy", merchants.get(0).getDescription());
+        assertEquals(Money.ofPaise(30_000), merchants.get(0).getTotal());
+        assertEquals(2, merchants.get(0).getCount());
+        assertEquals("Uber", merchants.get(1).getDescription());
+    }
+
+    @Test
+    void testTotalsGroupMixedCaseTypesTogether() {
+        long userId = newUserId();
+        add(userId, "Expense", 10_000, "Swiggy");
+        add(userId, "EXPENSE", 5_000, "Uber");
+
+        List<AnalyticsBucket> totals = analyticsService.totalsByType(userId, null, null);
+
+        assertEquals(1, totals.size());
+        assertEquals("expense", totals.get(0).getType());
+        assertEquals(Money.ofPaise(15_000), totals.get(0).getTotal());
+    }
+
+    private void add(long userId, String type, long paise, String description) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(Money.ofPaise(paise));
+        request.setType(type);
+        request.setCategory("Food");
+        request.setDescription(description);
+        request.setDate("2025-03-14T10:00:00");
+        transactionService.addTransaction(request, userId);
+    }
+}
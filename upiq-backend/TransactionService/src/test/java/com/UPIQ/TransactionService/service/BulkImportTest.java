@@ -0,0 +1,106 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.PostgresIntegrationTest;
+import com.UPIQ.TransactionService.dto.BulkRowResult;
+import com.UPIQ.TransactionService.dto.BulkTransactionResponse;
+import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.model.Transaction;
+import com.UPIQ.TransactionService.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+class BulkImportTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @SpyBean
+    private RollupService rollupService;
+
+    @Test
+    void testRowsStoredByAConcurrentImportAreSkipped() {
+        long userId = newUserId();
+        List<CreateTransactionRequest> rows = statement(5);
+        AtomicBoolean raced = new AtomicBoolean();
+        AtomicReference<BulkTransactionResponse> other = new AtomicReference<>();
+
+        // The other import commits the same rows after this one's duplicate lookup, before its insert
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                other.set(CompletableFuture.supplyAsync(() -> transactionService.addTransactions(rows, userId)).join());
+            }
+            return invocation.callRealMethod();
+        }).when(AopTestUtils.<RollupService>getUltimateTargetObject(rollupService)).recordAll(any());
+
+        BulkTransactionResponse response = transactionService.addTransactions(rows, userId);
+
+        assertEquals(5, other.get().getCreated());
+        assertEquals(0, response.getCreated());
+        assertEquals(5, response.getSkipped());
+        assertEquals(0, response.getFailed());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(other.get().getResults().get(i).getId(), response.getResults().get(i).getId());
+        }
+        assertEquals(5, repository.findByUserIdOrderByDateDesc(userId).size());
+        assertEquals(5, analyticsService.monthly(userId, null, null).get(0).getCount());
+    }
+
+    @Test
+    void testRowsWithoutAUsableDateAreStoredWithoutAFingerprint() {
+        long userId = newUserId();
+        List<CreateTransactionRequest> rows = statement(3);
+        rows.get(0).setDate(null);
+        rows.get(1).setDate("14/03/2025");
+
+        BulkTransactionResponse first = transactionService.addTransactions(rows, userId);
+        BulkTransactionResponse again = transactionService.addTransactions(rows, userId);
+
+        assertEquals(3, first.getCreated());
+        assertEquals(0, first.getFailed());
+        for (BulkRowResult result : first.getResults().subList(0, 2)) {
+            Transaction stored = repository.findById(result.getId()).orElseThrow();
+            assertNull(stored.getFingerprint());
+            assertEquals(LocalDate.now(), stored.getDate().toLocalDate());
+        }
+        // Their dates were made up, so a re-import cannot recognise them; only the dated row is skipped
+        assertEquals(2, again.getCreated());
+        assertEquals(1, again.getSkipped());
+        assertTrue(again.getResults().get(2).isDuplicate());
+        assertEquals(5, repository.findByUserIdOrderByDateDesc(userId).size());
+    }
+
+    private static List<CreateTransactionRequest> statement(int size) {
+        List<CreateTransactionRequest> rows = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            CreateTransactionRequest request = new CreateTransactionRequest();
+            request.setAmount(Money.ofPaise(1_000 + i));
+            request.setType("expense");
+            request.setCategory("Food");
+            request.setDescription("Swiggy order " + i);
+            request.setDate("2025-03-14T10:00:00");
+            request.setReference("UTR" + i);
+            rows.add(request);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,188 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.PostgresIntegrationTest;
+import com.UPIQ.TransactionService.dto.AnalyticsBucket;
+import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.repository.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupServiceTest extends PostgresIntegrationTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+    private static final String APRIL_DATE = "2025-04-02T10:00:00";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * A write that commits while a rebuild runs is counted exactly once. The
+     * rebuild is held up by an open transaction on an existing bucket; one
+     * write creates a new bucket meanwhile and a second is left uncommitted on
+     * it until the rebuild has had every chance to recount that bucket.
+     */
+    @Test
+    void testWritesCommittedDuringARebuildAreCountedOnce() throws Exception {
+        long userId = newUserId();
+        add(userId, 10_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        CountDownLatch blockerReady = new CountDownLatch(1);
+        CountDownLatch writerReady = new CountDownLatch(1);
+        try {
+            Future<?> blocker = executor.submit(() -> transactionTemplate().executeWithoutResult(status -> {
+                rollupRepository.applyDelta(userId, MARCH, "Food", "expense", 0, 0);
+                blockerReady.countDown();
+                await(releaseBlocker);
+            }));
+            await(blockerReady);
+
+            Future<?> rebuild = executor.submit(() -> rollupService.rebuildUser(userId));
+            awaitWaiting("%monthly_rollups%", 1);
+            Future<?> first = executor.submit(() -> add(userId, 20_000, APRIL_DATE));
+            awaitDoneOrWaiting(first, "INSERT INTO monthly_rollups%VALUES%", 1);
+            Future<?> second = executor.submit(() -> transactionTemplate().executeWithoutResult(status -> {
+                add(userId, 30_000, APRIL_DATE);
+                writerReady.countDown();
+                await(releaseWriter);
+            }));
+            awaitDoneOrWaiting(writerReady, "INSERT INTO monthly_rollups%VALUES%", 2);
+
+            releaseBlocker.countDown();
+            blocker.get(10, TimeUnit.SECONDS);
+            // Give the rebuild the chance to recount April while the second write is still open
+            awaitDoneOrWaiting(rebuild, "INSERT INTO monthly_rollups%GROUP BY%", 1);
+            releaseWriter.countDown();
+            rebuild.get(10, TimeUnit.SECONDS);
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            releaseBlocker.countDown();
+            releaseWriter.countDown();
+            executor.shutdownNow();
+        }
+
+        List<AnalyticsBucket> months = monthly(userId);
+        assertEquals(2, months.size());
+        assertEquals(1, months.get(0).getCount());
+        assertEquals(2, months.get(1).getCount());
+        assertEquals(Money.ofPaise(50_000), months.get(1).getTotal());
+    }
+
+    @Test
+    void testRebuildUserRecountsFromTransactions() {
+        long userId = newUserId();
+        add(userId, 10_000);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                rollupRepository.applyDelta(userId, MARCH, "Food", "expense", 3, 1));
+
+        rollupService.rebuildUser(userId);
+
+        assertEquals(1, monthly(userId).size());
+        assertEquals(1, monthly(userId).get(0).getCount());
+    }
+
+    @Test
+    void testOpenEndedRangesAreServedFromRollups() {
+        long userId = newUserId();
+        add(userId, 10_000);
+        // A rollup-only bucket shows which table answered
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                rollupRepository.applyDelta(userId, MARCH, "Food", "expense", 1, 1));
+
+        assertEquals(Money.ofPaise(10_001), analyticsService.totalsByType(userId, null, null).get(0).getTotal());
+        assertEquals(Money.ofPaise(10_001), analyticsService
+                .totalsByType(userId, MARCH.atStartOfDay(), null).get(0).getTotal());
+        // Not month aligned, so summed from the transactions themselves
+        assertEquals(Money.ofPaise(10_000), analyticsService
+                .totalsByType(userId, LocalDateTime.of(2025, 3, 2, 0, 0), null).get(0).getTotal());
+    }
+
+    private List<AnalyticsBucket> monthly(long userId) {
+        return analyticsService.monthly(userId, null, null);
+    }
+
+    private void add(long userId, long paise) {
+        add(userId, paise, "2025-03-14T10:00:00");
+    }
+
+    private void add(long userId, long paise, String date) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(Money.ofPaise(paise));
+        request.setType("expense");
+        request.setCategory("Food");
+        request.setDate(date);
+        transactionService.addTransaction(request, userId);
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private void awaitWaiting(String query, int count) throws InterruptedException {
+        awaitDoneOrWaiting(() -> false, query, count);
+    }
+
+    private void awaitDoneOrWaiting(Future<?> task, String query, int count) throws InterruptedException {
+        awaitDoneOrWaiting(task::isDone, query, count);
+    }
+
+    private void awaitDoneOrWaiting(CountDownLatch latch, String query, int count) throws InterruptedException {
+        awaitDoneOrWaiting(() -> latch.getCount() == 0, query, count);
+    }
+
+    // Polls pg_stat_activity for sessions blocked on a lock while running a matching statement
+    private void awaitDoneOrWaiting(BooleanSupplier done, String query, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                    + "WHERE wait_event_type = 'Lock' AND query LIKE ?", Integer.class, query);
+            if (done.getAsBoolean() || waiting != null && waiting >= count) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        fail("Nothing reached " + query);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(20, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
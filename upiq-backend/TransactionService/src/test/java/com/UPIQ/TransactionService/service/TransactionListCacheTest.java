@@ -0,0 +1,91 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.dto.TransactionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionListCacheTest {
+
+    private static final long USER = 42L;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger version = new AtomicInteger();
+
+    @ParameterizedTest
+    @ValueSource(strings = { "tinylfu", "lru" })
+    void testServesRepeatReadsFromCache(String policy) {
+        TransactionListCache cache = cache(policy);
+
+        cache.get(USER, TransactionListCache.ALL, this::load);
+        cache.get(USER, TransactionListCache.ALL, this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "tinylfu", "lru" })
+    void testLoadOverlappingAnEvictionIsNotCached(String policy) throws Exception {
+        TransactionListCache cache = cache(policy);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+
+        CompletableFuture<List<TransactionResponse>> stale = CompletableFuture.supplyAsync(() ->
+                cache.get(USER, TransactionListCache.ALL, () -> {
+                    List<TransactionResponse> rows = load();
+                    loading.countDown();
+                    await(written);
+                    return rows;
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        // The write commits while the read above still holds pre-write rows
+        version.incrementAndGet();
+        cache.evictUser(USER);
+        written.countDown();
+
+        assertEquals(0L, stale.get(5, TimeUnit.SECONDS).get(0).getId());
+        List<TransactionResponse> fresh = cache.get(USER, TransactionListCache.ALL, this::load);
+        assertEquals(1L, fresh.get(0).getId());
+        assertEquals(2, loads.get());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "tinylfu", "lru" })
+    void testEvictionDropsEveryListOfTheUser(String policy) {
+        TransactionListCache cache = cache(policy);
+        cache.get(USER, TransactionListCache.ALL, this::load);
+        cache.get(USER, TransactionListCache.byCategory("Food"), this::load);
+
+        cache.evictUser(USER);
+        cache.get(USER, TransactionListCache.ALL, this::load);
+        cache.get(USER, TransactionListCache.byCategory("food"), this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    private TransactionListCache cache(String policy) {
+        return new TransactionListCache(true, policy, 100, 10, new SimpleMeterRegistry());
+    }
+
+    private List<TransactionResponse> load() {
+        loads.incrementAndGet();
+        return List.of(TransactionResponse.builder().id((long) version.get()).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.UPIQ.TransactionService.service;
+
+import com.UPIQ.TransactionService.PostgresIntegrationTest;
+import com.UPIQ.TransactionService.dto.CreateTransactionRequest;
+import com.UPIQ.TransactionService.dto.TransactionResponse;
+import com.UPIQ.TransactionService.dto.TransactionSearchPage;
+import com.UPIQ.TransactionService.exceptions.TransactionNotFoundException;
+import com.UPIQ.TransactionService.model.Money;
+import com.UPIQ.TransactionService.model.Transaction;
+import com.UPIQ.TransactionService.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionServiceTest extends PostgresIntegrationTest {
+
+    private static final LocalDateTime MARCH_14 = LocalDateTime.of(2025, 3, 14, 10, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testUpdateRewritesOwnedRowAndKeepsDateWhenNoneGiven() {
+        long userId = newUserId();
+        long id = add(userId, 10_000);
+
+        transactionService.updateTransaction(id, request(25_000, null), userId);
+
+        Transaction stored = repository.findById(id).orElseThrow();
+        assertEquals(25_000L, stored.getAmountPaise());
+        assertEquals("Travel", stored.getCategory());
+        assertEquals(MARCH_14, stored.getDate());
+        assertEquals(Money.ofPaise(25_000), analyticsService.monthly(userId, null, null).get(0).getTotal());
+    }
+
+    @Test
+    void testUpdateLeavesOtherUsersRowsAlone() {
+        long owner = newUserId();
+        long id = add(owner, 10_000);
+
+        assertThrows(RuntimeException.class,
+                () -> transactionService.updateTransaction(id, request(1, null), newUserId()));
+        assertThrows(TransactionNotFoundException.class,
+                () -> transactionService.updateTransaction(Long.MAX_VALUE, request(1, null), owner));
+        assertEquals(10_000L, repository.findById(id).orElseThrow().getAmountPaise());
+    }
+
+    @Test
+    void testDeleteRemovesOwnedRowAndItsRollup() {
+        long userId = newUserId();
+        long id = add(userId, 10_000);
+
+        assertThrows(RuntimeException.class, () -> transactionService.deleteTransaction(id, newUserId()));
+        assertTrue(repository.existsById(id));
+
+        transactionService.deleteTransaction(id, userId);
+
+        assertFalse(repository.existsById(id));
+        assertTrue(analyticsService.monthly(userId, null, null).isEmpty());
+    }
+
+    @Test
+    void testEntitiesLoadedBeforeAWriteAreNotServedAfterIt() {
+        long userId = newUserId();
+        long updatedId = add(userId, 10_000);
+        long deletedId = add(userId, 5_000);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            repository.findById(updatedId).orElseThrow();
+            repository.findById(deletedId).orElseThrow();
+
+            transactionService.updateTransaction(updatedId, request(25_000, "2025-04-01T09:00:00"), userId);
+            transactionService.deleteTransaction(deletedId, userId);
+
+            Transaction updated = repository.findById(updatedId).orElseThrow();
+            assertEquals(25_000L, updated.getAmountPaise());
+            assertEquals(LocalDateTime.of(2025, 4, 1, 9, 0), updated.getDate());
+            assertTrue(repository.findById(deletedId).isEmpty());
+        });
+    }
+
+    @Test
+    void testSearchFindsMisspelledMerchantsAfterExactMatches() {
+        long userId = newUserId();
+        add(userId, 10_000, "Swiggy order");
+        add(userId, 20_000, "Uber trip");
+        add(userId, 30_000, "swigy refund");
+
+        List<TransactionResponse> items = transactionService.searchTransactions(userId, "swigy", 0, 10).getItems();
+
+        assertEquals(2, items.size());
+        assertEquals("swigy refund", items.get(0).getDescription());
+        assertEquals("Swiggy order", items.get(1).getDescription());
+    }
+
+    @Test
+    void testSearchTreatsLikeWildcardsLiterally() {
+        long userId = newUserId();
+        add(userId, 10_000, "50% off voucher");
+        add(userId, 20_000, "500 cashback");
+
+        TransactionSearchPage page = transactionService.searchTransactions(userId, "50%", 0, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("50% off voucher", page.getItems().get(0).getDescription());
+    }
+
+    @Test
+    void testSearchReportsFurtherPages() {
+        long userId = newUserId();
+        for (int i = 0; i < 3; i++) {
+            add(userId, 1_000 + i, "Swiggy order " + i);
+        }
+
+        TransactionSearchPage first = transactionService.searchTransactions(userId, "swiggy", 0, 2);
+        TransactionSearchPage second = transactionService.searchTransactions(userId, "swiggy", 1, 2);
+
+        assertTrue(first.isHasMore());
+        assertEquals(2, first.getItems().size());
+        assertFalse(second.isHasMore());
+        assertEquals(1, second.getItems().size());
+    }
+
+    private long add(long userId, long paise) {
+        return add(userId, paise, null);
+    }
+
+    private long add(long userId, long paise, String description) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(Money.ofPaise(paise));
+        request.setType("expense");
+        request.setCategory("Food");
+        request.setDescription(description);
+        request.setDate("2025-03-14T10:00:00");
+        return transactionService.addTransaction(request, userId).getId();
+    }
+
+    private static CreateTransactionRequest request(long paise, String date) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(Money.ofPaise(paise));
+        request.setType("expense");
+        request.setCategory("Travel");
+        request.setDescription("Cab");
+        request.setDate(date);
+        return request;
+    }
+}
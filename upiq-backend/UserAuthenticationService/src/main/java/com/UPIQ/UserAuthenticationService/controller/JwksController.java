@@ -0,0 +1,30 @@
+package com.UPIQ.UserAuthenticationService.controller;
+
+import com.UPIQ.UserAuthenticationService.service.SigningKeyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public keys for verifying tokens (RFC 7517), for the gateway and any other
+ * service that checks tokens itself.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyService signingKeyService;
+
+    // 🔑 Current and not-yet-expired retired keys
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(Map.of("keys", signingKeyService.publicJwks()));
+    }
+}
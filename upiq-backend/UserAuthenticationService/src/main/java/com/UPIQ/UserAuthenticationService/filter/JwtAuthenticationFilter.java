@@ -1,8 +1,7 @@
 package com.UPIQ.UserAuthenticationService.filter;
 
-import com.UPIQ.UserAuthenticationService.model.User;
 import com.UPIQ.UserAuthenticationService.service.JwtService;
-import com.UPIQ.UserAuthenticationService.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,7 +23,6 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserService userService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -41,27 +39,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String token = authHeader.substring(7);
-            String email = jwtService.extractEmail(token);
+            // Signature and expiry are checked here; role and status come from the token, not the database
+            Claims claims = jwtService.parseClaims(token);
+            String email = claims.getSubject();
+            String role = claims.get("role", String.class);
 
-            if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var userOpt = userService.getUserByEmail(email);
-                if (userOpt.isPresent() && jwtService.isTokenValid(token, email)) {
-                    User user = userOpt.get();
-                    if (user.isActive()) {
-                        List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                                new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                        );
-                        
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        user.getEmail(),
-                                        null,
-                                        authorities
-                                );
+            if (email != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (Boolean.TRUE.equals(claims.get("active", Boolean.class))) {
+                    List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                            new SimpleGrantedAuthority("ROLE_" + role)
+                    );
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(
+                                    email,
+                                    null,
+                                    authorities
+                            );
+
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         } catch (Exception e) {
@@ -83,7 +83,7 @@ public class AuthService {
         }
 
         // Generate JWT token with userId
-        String token = jwtService.generateToken(user.getEmail(), user.getRole().name(), user.getId());
+        String token = jwtService.generateToken(user.getEmail(), user.getRole().name(), user.getId(), user.isActive());
         return token;
     }
 }
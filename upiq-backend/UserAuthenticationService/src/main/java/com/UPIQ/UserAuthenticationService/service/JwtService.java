@@ -1,13 +1,14 @@
 package com.UPIQ.UserAuthenticationService.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -16,31 +17,51 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final SigningKeyService signingKeys;
+    private final long expiration;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration:3600000}")
-    private long expiration;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    public JwtService(SigningKeyService signingKeys, @Value("${jwt.expiration:3600000}") long expiration) {
+        this.signingKeys = signingKeys;
+        this.expiration = expiration;
+        // Built once; the kid in each token's header picks the verification key
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return signingKeys.publicKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     // 🧾 Generate JWT token
-    public String generateToken(String email, String role, Long userId) {
+    public String generateToken(String email, String role, Long userId, boolean active) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId.toString()); // Add userId to claims
+        claims.put("active", active); // Lets verifiers authorize without a user lookup
 
+        SigningKeyService.SigningKey key = signingKeys.activeKey();
         return Jwts.builder()
+                .header().keyId(key.kid()).and()
                 .claims(claims)
                 .subject(email)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(key.privateKey(), Jwts.SIG.RS256)
                 .compact();
     }
 
+    // ✅ Verify signature and expiry, and return the claims
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid JWT token", e);
+        }
+    }
+
     // ✅ Extract email (subject)
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -48,7 +69,7 @@ public class JwtService {
 
     // ✅ Extract role
     public String extractRole(String token) {
-        return (String) extractAllClaims(token).get("role");
+        return (String) parseClaims(token).get("role");
     }
 
     // ✅ Validate token
@@ -66,19 +87,7 @@ public class JwtService {
     }
 
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
-
-    private Claims extractAllClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid JWT token", e);
-        }
-    }
 }
@@ -0,0 +1,110 @@
+package com.UPIQ.UserAuthenticationService.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyServiceTest {
+
+    private static final Duration ROTATION = Duration.ofDays(7);
+    private static final Duration LIFETIME = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+
+    @Test
+    void testTokensCarryKidRoleAndStatus() {
+        SigningKeyService keys = new SigningKeyService(null, ROTATION, LIFETIME, clock);
+        JwtService jwt = new JwtService(keys, LIFETIME.toMillis());
+
+        Claims claims = jwt.parseClaims(jwt.generateToken("a@upiq.in", "ADMIN", 42L, true));
+
+        assertEquals("a@upiq.in", claims.getSubject());
+        assertEquals("ADMIN", claims.get("role", String.class));
+        assertEquals("42", claims.get("userId", String.class));
+        assertEquals(Boolean.TRUE, claims.get("active", Boolean.class));
+    }
+
+    @Test
+    void testRetiredKeyVerifiesUntilItsTokensExpire() {
+        SigningKeyService keys = new SigningKeyService(null, ROTATION, LIFETIME, clock);
+        JwtService jwt = new JwtService(keys, LIFETIME.toMillis());
+        String first = keys.activeKey().kid();
+        String oldToken = jwt.generateToken("a@upiq.in", "USER", 42L, true);
+
+        clock.advance(ROTATION);
+        keys.rotateIfDue();
+
+        assertNotEquals(first, keys.activeKey().kid());
+        assertEquals(2, keys.publicJwks().size());
+        assertNotNull(jwt.parseClaims(oldToken));
+
+        clock.advance(LIFETIME.plusMinutes(6));
+        keys.rotateIfDue();
+
+        assertNull(keys.publicKey(first));
+        assertThrows(RuntimeException.class, () -> jwt.parseClaims(oldToken));
+    }
+
+    @Test
+    void testKeysSurviveRestartFromDirectory(@TempDir Path dir) {
+        SigningKeyService before = new SigningKeyService(dir, ROTATION, LIFETIME, clock);
+        String token = new JwtService(before, LIFETIME.toMillis()).generateToken("a@upiq.in", "USER", 42L, true);
+
+        SigningKeyService after = new SigningKeyService(dir, ROTATION, LIFETIME, clock);
+
+        assertEquals(before.activeKey().kid(), after.activeKey().kid());
+        assertNotNull(new JwtService(after, LIFETIME.toMillis()).parseClaims(token));
+    }
+
+    @Test
+    void testJwksPublishesOnlyPublicParameters() throws Exception {
+        SigningKeyService keys = new SigningKeyService(null, ROTATION, LIFETIME, clock);
+
+        JsonNode jwk = new ObjectMapper().valueToTree(Map.of("keys", keys.publicJwks())).get("keys").get(0);
+
+        assertEquals("RSA", jwk.get("kty").asText());
+        assertEquals(keys.activeKey().kid(), jwk.get("kid").asText());
+        assertEquals("sig", jwk.get("use").asText());
+        assertTrue(jwk.has("n") && jwk.has("e"));
+        assertFalse(jwk.has("d"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
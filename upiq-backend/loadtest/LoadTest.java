@@ -0,0 +1,130 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing service configurations, e.g.
+ * platform against virtual request threads. Each of {@code concurrency}
+ * clients sends the next request as soon as the previous one returns; the
+ * report covers the measured phase only.
+ * <p>
+ * Single file, no build needed:
+ * <pre>
+ * java loadtest/LoadTest.java --url http://localhost:8083/api/transactions \
+ *      --header "X-User-Id: 1" --concurrency 400 --duration 30
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        List<String> headers = new ArrayList<>();
+        int concurrency = 200;
+        int durationSeconds = 30;
+        int warmupSeconds = 10;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> url = args[++i];
+                case "--header" -> headers.add(args[++i]);
+                case "--concurrency" -> concurrency = Integer.parseInt(args[++i]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (url == null) {
+            System.err.println("Usage: java LoadTest.java --url URL [--header 'Name: value']... "
+                    + "[--concurrency 200] [--duration 30] [--warmup 10]");
+            System.exit(2);
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        for (String header : headers) {
+            int colon = header.indexOf(':');
+            builder.header(header.substring(0, colon).trim(), header.substring(colon + 1).trim());
+        }
+        HttpRequest request = builder.build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        System.out.printf("Warming up for %ds with %d clients...%n", warmupSeconds, concurrency);
+        run(client, request, concurrency, warmupSeconds);
+        System.out.printf("Measuring for %ds...%n", durationSeconds);
+        long start = System.nanoTime();
+        List<Result> results = run(client, request, concurrency, durationSeconds);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        long[] all = results.stream().flatMapToLong(r -> Arrays.stream(r.latencies, 0, r.count)).sorted().toArray();
+        long errors = results.stream().mapToLong(r -> r.errors).sum();
+        System.out.printf(Locale.ROOT, "requests %d, errors %d, throughput %.1f req/s%n",
+                all.length, errors, all.length / elapsed);
+        System.out.printf(Locale.ROOT, "latency ms: p50 %.1f  p90 %.1f  p99 %.1f  max %.1f%n",
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 100));
+        System.exit(0);
+    }
+
+    private static List<Result> run(HttpClient client, HttpRequest request, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Result>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                result.errors++;
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            result.errors++;
+                            continue;
+                        }
+                        result.add(System.nanoTime() - sent);
+                    }
+                    return result;
+                }));
+            }
+            List<Result> results = new ArrayList<>(concurrency);
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -1,4 +1,4 @@
-import { useState, useEffect, useMemo } from "react";
+import { useState, useEffect, useMemo, useRef } from "react";
 import TransactionService from "../services/transaction.service";
 import { useDateFilter } from "../context/DateFilterContext";
 import { filterByDateRange } from "../utils/transactionUtils";
@@ -7,6 +7,10 @@ import EditTransactionModal from "../components/transactions/EditTransactionModa
 import DateRangeFilter from "../components/dashboard/DateRangeFilter";
 import { Search, AlertCircle } from "lucide-react";
 
+// Shorter queries stay client-side; the server rejects them anyway
+const MIN_SERVER_SEARCH = 2;
+const SEARCH_PAGE_SIZE = 200;
+
 const Transactions = () => {
     const [allTransactions, setAllTransactions] = useState([]);
     const [loading, setLoading] = useState(true);
@@ -17,10 +21,19 @@ const Transactions = () => {
         category: ""
     });
 
+    // Ranked matches from the server while a search is active, otherwise null
+    const [searchResults, setSearchResults] = useState(null);
+    const [searchPage, setSearchPage] = useState({ page: 0, hasMore: false });
+    // Bumped per search request, so an answer that arrives after a newer query is dropped
+    const searchRequest = useRef(0);
+    const searchQuery = filters.search.trim();
+    const serverSearch = searchQuery.length >= MIN_SERVER_SEARCH;
+
     // Filter transactions by date range
     const dateFilteredTransactions = useMemo(() => {
-        return filterByDateRange(allTransactions, startDate, endDate);
-    }, [allTransactions, startDate, endDate]);
+        const source = serverSearch && searchResults ? searchResults : allTransactions;
+        return filterByDateRange(source, startDate, endDate);
+    }, [allTransactions, searchResults, serverSearch, startDate, endDate]);
 
     // Modal State
     const [isEditModalOpen, setIsEditModalOpen] = useState(false);
@@ -40,10 +53,44 @@ const Transactions = () => {
         }
     };
 
+    const runSearch = async (query, page = 0) => {
+        const request = ++searchRequest.current;
+        try {
+            const response = await TransactionService.search(query, page, SEARCH_PAGE_SIZE);
+            if (request !== searchRequest.current) {
+                return;
+            }
+            if (response.success) {
+                const { items, hasMore } = response.data;
+                setSearchResults(results => (page > 0 && results ? [...results, ...items] : items));
+                setSearchPage({ page, hasMore });
+            }
+        } catch (error) {
+            if (request !== searchRequest.current) {
+                return;
+            }
+            // Fall back to filtering the loaded list
+            console.error("Search failed", error);
+            setSearchResults(null);
+        }
+    };
+
     useEffect(() => {
         fetchTransactions();
     }, []);
 
+    // Debounce so typing a merchant name sends one request, not one per key
+    useEffect(() => {
+        // Whatever is still in flight answers a query the box no longer holds
+        searchRequest.current++;
+        if (!serverSearch) {
+            setSearchResults(null);
+            return;
+        }
+        const timer = setTimeout(() => runSearch(searchQuery), 300);
+        return () => clearTimeout(timer);
+    }, [searchQuery, serverSearch]);
+
     const handleEdit = (transaction) => {
         setCurrentTransaction(transaction);
         setIsEditModalOpen(true);
@@ -54,6 +101,9 @@ const Transactions = () => {
             await TransactionService.update(id, updatedData);
             // Refresh list
             fetchTransactions();
+            if (serverSearch) {
+                runSearch(searchQuery);
+            }
         } catch (error) {
             console.error("Update failed", error);
             alert("Failed to update transaction");
@@ -66,6 +116,7 @@ const Transactions = () => {
                 await TransactionService.delete(id);
                 // Optimistic update
                 setAllTransactions(allTransactions.filter(t => t.id !== id));
+                setSearchResults(results => results && results.filter(t => t.id !== id));
             } catch (error) {
                 console.error("Delete failed", error);
                 alert("Failed to delete transaction");
@@ -79,6 +130,7 @@ const Transactions = () => {
                 try {
                     await TransactionService.deleteAll();
                     setAllTransactions([]);
+                    setSearchResults(null);
                     alert("✅ All transactions deleted successfully.");
                 } catch (error) {
                     console.error("Delete All failed", error);
@@ -91,14 +143,16 @@ const Transactions = () => {
     // Filter Logic (applied to date-filtered transactions)
     const filteredTransactions = useMemo(() => {
         return dateFilteredTransactions.filter(t => {
-            const matchesSearch = t.description.toLowerCase().includes(filters.search.toLowerCase()) ||
+            // Server results are already matched (and ranked), including near misses
+            const matchesSearch = (serverSearch && searchResults) ||
+                t.description.toLowerCase().includes(filters.search.toLowerCase()) ||
                 (t.category && t.category.toLowerCase().includes(filters.search.toLowerCase()));
 
             const matchesType = filters.type === "ALL" || t.type?.toUpperCase() === filters.type;
 
             return matchesSearch && matchesType;
         });
-    }, [dateFilteredTransactions, filters.search, filters.type]);
+    }, [dateFilteredTransactions, filters.search, filters.type, serverSearch, searchResults]);
 
     return (
         <div className="space-y-8">
@@ -163,6 +217,18 @@ const Transactions = () => {
                 />
             )}
 
+            {serverSearch && searchResults && searchPage.hasMore && (
+                <div className="flex items-center justify-center gap-3 text-sm text-[var(--text-muted)]">
+                    <span>Showing the best {searchResults.length} matches.</span>
+                    <button
+                        onClick={() => runSearch(searchQuery, searchPage.page + 1)}
+                        className="font-bold text-primary-600 dark:text-primary-400 hover:underline"
+                    >
+                        Load more
+                    </button>
+                </div>
+            )}
+
             <EditTransactionModal
                 isOpen={isEditModalOpen}
                 onClose={() => setIsEditModalOpen(false)}
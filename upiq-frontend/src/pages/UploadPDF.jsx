@@ -132,44 +132,28 @@ const UploadPDF = () => {
                 return;
             }
 
-            let successCount = 0;
-            for (let i = 0; i < transactionsToSave.length; i++) {
-                const transaction = transactionsToSave[i];
-                let isoDate;
-
-                if (transaction.date) {
-                    isoDate = transaction.date;
-                } else {
-                    const now = new Date();
-                    isoDate = new Date(now.getTime() - (now.getTimezoneOffset() * 60000)).toISOString().slice(0, 19);
-                    console.warn(`Transaction ${i + 1} missing date, using fallback:`, isoDate);
-                }
-
-                console.log(`Saving transaction ${i + 1}/${totalToSave}:`, {
-                    desc: transaction.description,
-                    amount: transaction.amount,
-                    date: isoDate
-                });
-
-                try {
-                    await TransactionService.create({
-                        ...transaction,
-                        date: isoDate,
-                        category: "Uncategorized",
-                        paymentMethod: transaction.paymentMethod || "UPI"
-                    });
-                    successCount++;
-                } catch (txErr) {
-                    console.error(`Failed to save transaction ${i + 1}:`, transaction, txErr);
-                }
-            }
-
-            const message = successCount === totalToSave
-                ? `Successfully saved all ${successCount} transactions!`
+            // Rows without a date are sent as they are; the server dates them now and never treats them as already imported
+            const payload = transactionsToSave.map(transaction => ({
+                ...transaction,
+                category: "Uncategorized",
+                paymentMethod: transaction.paymentMethod || "UPI"
+            }));
+
+            const bulkResponse = await TransactionService.createBulk(payload);
+            const successCount = bulkResponse.data?.created ?? 0;
+            // Rows the server recognised from an earlier import of this statement
+            const alreadyImported = bulkResponse.data?.skipped ?? 0;
+            (bulkResponse.data?.results || [])
+                .filter(result => !result.success)
+                .forEach(result => console.error(`Failed to save transaction ${result.index + 1}:`,
+                    transactionsToSave[result.index], result.error));
+
+            const message = successCount + alreadyImported === totalToSave
+                ? `Successfully saved all ${successCount} new transactions!`
                 : `Saved ${successCount} of ${totalToSave} transactions. Check console for errors.`;
 
-            if (duplicateCount > 0) {
-                alert(`${message} (${duplicateCount} duplicates skipped)`);
+            if (duplicateCount + alreadyImported > 0) {
+                alert(`${message} (${duplicateCount + alreadyImported} duplicates skipped)`);
             } else {
                 alert(message);
             }
@@ -1,5 +1,8 @@
 import api from "./axios";
 
+// Matches the @Size limit on BulkTransactionRequest
+const BULK_CHUNK_SIZE = 5000;
+
 const TransactionService = {
     getAll: async () => {
         const response = await api.get("/transactions");
@@ -11,6 +14,57 @@ const TransactionService = {
         return response.data;
     },
 
+    createBulk: async (transactions) => {
+        // POST /api/transactions/bulk - the server takes at most BULK_CHUNK_SIZE rows per request,
+        // so larger statements go in several requests whose results are merged in order
+        const data = { received: 0, created: 0, skipped: 0, failed: 0, results: [] };
+        for (let start = 0; start < transactions.length; start += BULK_CHUNK_SIZE) {
+            const chunk = transactions.slice(start, start + BULK_CHUNK_SIZE);
+            let body;
+            try {
+                body = (await api.post("/transactions/bulk", { transactions: chunk })).data;
+            } catch (err) {
+                // 422 means no row of the chunk was saved; its per-row errors are still in the body
+                if (err.response?.status !== 422) throw err;
+                body = err.response.data;
+            }
+            const part = body.data || {};
+            data.received += part.received ?? 0;
+            data.created += part.created ?? 0;
+            data.skipped += part.skipped ?? 0;
+            data.failed += part.failed ?? 0;
+            (part.results || []).forEach(result => data.results.push({ ...result, index: result.index + start }));
+        }
+        return {
+            success: data.failed === 0,
+            data,
+            message: `Created ${data.created} of ${data.received} transactions, ${data.skipped} already imported`
+        };
+    },
+
+    getPage: async ({ cursor, size = 50, from, to, type, category, minAmount, maxAmount } = {}) => {
+        // GET /api/transactions/page - newest first, pass data.nextCursor back for the next page
+        const response = await api.get("/transactions/page", {
+            params: { cursor, size, from, to, type, category, minAmount, maxAmount }
+        });
+        return response.data;
+    },
+
+    search: async (q, page = 0, size = 50) => {
+        // GET /api/transactions/search - ranked by closeness to q, so typos like "swigy" still match
+        const response = await api.get("/transactions/search", { params: { q, page, size } });
+        return response.data;
+    },
+
+    exportHistory: async (format = "csv") => {
+        // GET /api/transactions/export - full history as a csv or ndjson file, oldest first
+        const response = await api.get("/transactions/export", {
+            params: { format },
+            responseType: "blob"
+        });
+        return response.data;
+    },
+
     getByCategory: async (category) => {
         const response = await api.get(`/transactions/category/${category}`);
         return response.data;